@@ -0,0 +1,73 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks Argon2 memory and iterations for the machine the application is running on. Starting from the configured
+ * values it doubles memory (up to max-memory), then adds iterations (up to max-iterations), until the median of a
+ * few hashes reaches the target latency. Parameters are only ever raised from the configured ones, never lowered.
+ * <p>
+ * Hashes stored with weaker parameters stay valid: {@link Argon2PasswordEncoder#upgradeEncoding} reports them, and
+ * they are re-encoded the next time their user logs in.
+ */
+final class Argon2Calibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(Argon2Calibrator.class);
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final int PARALLELISM = 1;
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private Argon2Calibrator() {
+    }
+
+    static Argon2PasswordEncoder encoder(int memory, int iterations) {
+        return new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, PARALLELISM, memory, iterations);
+    }
+
+    static Argon2PasswordEncoder calibrate(Argon2Properties properties) {
+        int memory = properties.getMemory();
+        int iterations = properties.getIterations();
+        Argon2PasswordEncoder encoder = encoder(memory, iterations);
+        // The first hash pays for class loading and JIT warm-up, so it is not counted
+        encoder.encode(SAMPLE_PASSWORD);
+        Duration latency = measure(encoder);
+
+        while (latency.compareTo(properties.getTargetLatency()) < 0) {
+            if (memory * 2L <= properties.getMaxMemory()) {
+                memory *= 2;
+            } else if (iterations < properties.getMaxIterations()) {
+                iterations++;
+            } else {
+                logger.warn("Argon2 calibration stopped at max-memory and max-iterations, {} ms below the {} ms target",
+                        properties.getTargetLatency().minus(latency).toMillis(),
+                        properties.getTargetLatency().toMillis());
+                break;
+            }
+            encoder = encoder(memory, iterations);
+            latency = measure(encoder);
+        }
+
+        logger.info("Argon2 calibrated to memory={} KiB, iterations={} ({} ms per hash)",
+                memory, iterations, latency.toMillis());
+        return encoder;
+    }
+
+    private static Duration measure(Argon2PasswordEncoder encoder) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+}
@@ -0,0 +1,30 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Argon2 cost settings for password hashes. Without calibration the encoder uses memory and iterations as given
+ * (the defaults are Spring Security's v5.8 ones); with it, they are the starting point raised until one hash takes
+ * target-latency on this machine.
+ */
+@Data
+@ConfigurationProperties(prefix = "moviereviews.auth.hashing.argon2")
+public class Argon2Properties {
+
+    private boolean calibrate = true;
+
+    private Duration targetLatency = Duration.ofMillis(50);
+
+    /** In KiB. Each hashing thread needs this much while it hashes. */
+    private int memory = 1 << 14;
+
+    private int iterations = 2;
+
+    /** Calibration doubles memory up to this many KiB before it adds iterations. */
+    private int maxMemory = 1 << 18;
+
+    private int maxIterations = 10;
+}
@@ -0,0 +1,52 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Who sent a request, resolved once from the X-API-AUTH header by the authentication filters and stored as the
+ * Spring Security principal. Controllers take it with {@code @AuthenticationPrincipal} rather than checking the
+ * header again.
+ *
+ * @param role     What the credential was issued for
+ * @param userId   The review user's id; null for film submission tokens
+ */
+public record AuthenticatedPrincipal(Role role, UUID userId) implements Principal {
+
+    private static final String FILM_SUBMITTER_NAME = "film-submitter";
+
+    public enum Role {
+        REVIEW_USER,
+        FILM_SUBMITTER,
+        // Admin tokens are film submission tokens with extra rights, so they can submit films too
+        ADMIN
+    }
+
+    public static AuthenticatedPrincipal reviewUser(UUID userId) {
+        return new AuthenticatedPrincipal(Role.REVIEW_USER, userId);
+    }
+
+    public static AuthenticatedPrincipal filmSubmitter(boolean admin) {
+        return new AuthenticatedPrincipal(admin ? Role.ADMIN : Role.FILM_SUBMITTER, null);
+    }
+
+    public boolean isReviewUser() {
+        return role == Role.REVIEW_USER;
+    }
+
+    public boolean isFilmSubmitter() {
+        return role == Role.FILM_SUBMITTER || role == Role.ADMIN;
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    /**
+     * The user id for review users, which is what read-your-writes tracking keys on.
+     */
+    @Override
+    public String getName() {
+        return userId != null ? userId.toString() : FILM_SUBMITTER_NAME;
+    }
+}
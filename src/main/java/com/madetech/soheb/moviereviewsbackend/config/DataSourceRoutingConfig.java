@@ -0,0 +1,101 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with one that sends read-only transactions to replicas.
+ * Enabled with moviereviews.datasource.routing.enabled=true; without it the single primary pool is used.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(prefix = "moviereviews.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickiness());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaRoutingProperties properties,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             Environment environment) {
+        // Neither pool is a bean, so spring.datasource.hikari.* (pool size, timeouts...) is bound onto each here
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        bindHikariSettings(binder, primary);
+        primary.setPoolName("primary");
+        // Built here rather than as a bean, so it misses the post-processor that would otherwise set this
+        JdbcBatchingConfig.enableBatchedInsertRewrite(primary);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            bindHikariSettings(binder, pool);
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setReadOnly(true);
+            replicas.put(pool.getPoolName(), pool);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker,
+                properties.getMaxLag(), properties.getLagQuery());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               ReadYourWritesTracker readYourWritesTracker) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, readYourWritesTracker);
+    }
+
+    private static void bindHikariSettings(Binder binder, HikariDataSource pool) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+    }
+
+    public static class ReplicaLagMonitor {
+
+        private final ReplicaRoutingDataSource replicaRoutingDataSource;
+        private final ReadYourWritesTracker readYourWritesTracker;
+
+        ReplicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                          ReadYourWritesTracker readYourWritesTracker) {
+            this.replicaRoutingDataSource = replicaRoutingDataSource;
+            this.readYourWritesTracker = readYourWritesTracker;
+        }
+
+        @Scheduled(fixedDelayString = "${moviereviews.datasource.routing.lag-check-interval:PT2S}")
+        public void check() {
+            replicaRoutingDataSource.checkReplicaLag();
+            readYourWritesTracker.purgeExpired();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for the read-mostly Movie and User entities, so lookups by id (movie pages, review
+ * submission checks, JWT validation) skip the database once warm. Both are cached READ_WRITE: a change committed
+ * through Hibernate replaces the cached copy, and bulk JPQL updates clear the whole region.
+ * <p>
+ * The regions are created here with their size and TTL bounds, and Hibernate is told to fail rather than quietly
+ * create an unbounded cache for any region it does not find. Hit, miss, put and eviction counts are published per
+ * region as the standard cache.* meters.
+ * Disabled with moviereviews.entity-cache.enabled=false.
+ */
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+@ConditionalOnProperty(prefix = "moviereviews.entity-cache", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class EntityCacheConfig {
+
+    static final List<String> MOVIE_REGIONS = List.of("movies", "movies.genres", "movies.directors",
+            "movies.writers", "movies.cast", "movies.producers");
+    static final String USER_REGION = "users";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        regions(properties).forEach((name, bounds) -> {
+            // The provider's default manager outlives an application context, so a restarted context in the same
+            // JVM (tests, devtools) finds its regions already there
+            if (cacheManager.getCache(name) != null) {
+                cacheManager.destroyCache(name);
+            }
+            cacheManager.createCache(name, configuration(bounds));
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager, EntityCacheProperties properties) {
+        return registry -> regions(properties).keySet().forEach(name ->
+                JCacheMetrics.monitor(registry, entityCacheManager.getCache(name)));
+    }
+
+    private static Map<String, EntityCacheProperties.Region> regions(EntityCacheProperties properties) {
+        Map<String, EntityCacheProperties.Region> regions = new LinkedHashMap<>();
+        MOVIE_REGIONS.forEach(name -> regions.put(name, properties.getMovies()));
+        regions.put(USER_REGION, properties.getUsers());
+        return regions;
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(EntityCacheProperties.Region bounds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(bounds.getMaxEntries()));
+        configuration.setExpireAfterWrite(OptionalLong.of(bounds.getTimeToLive().toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
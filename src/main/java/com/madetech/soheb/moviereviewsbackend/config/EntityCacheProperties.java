@@ -0,0 +1,36 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds for the Hibernate second-level cache regions. Entries are evicted once a region holds max-entries, and
+ * expire time-to-live after they were written whether or not they were read since.
+ */
+@Data
+@ConfigurationProperties(prefix = "moviereviews.entity-cache")
+public class EntityCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Movie rows and each of their five credit collections (one region apiece, bounded separately). */
+    private Region movies = new Region(10_000, Duration.ofMinutes(30));
+
+    /**
+     * Changes made through the application (a user being rejected, say) update the cache when they commit; this
+     * bounds how long a change made straight in the database can go unnoticed.
+     */
+    private Region users = new Region(10_000, Duration.ofMinutes(1));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private long maxEntries;
+        private Duration timeToLive;
+    }
+}
@@ -23,6 +23,7 @@ public class FilmTokenAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(FilmTokenAuthenticationFilter.class);
     private static final String HEADER_NAME = "X-API-AUTH";
     private static final String ROLE_FILM_SUBMITTER = "ROLE_FILM_SUBMITTER";
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
     
     private final FilmTokenAuthenticationService filmTokenAuthenticationService;
     
@@ -38,11 +39,16 @@ public class FilmTokenAuthenticationFilter extends OncePerRequestFilter {
         
         if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             if (filmTokenAuthenticationService.isValidToken(token)) {
-                // Create authentication with FILM_SUBMITTER role
+                // Create authentication with FILM_SUBMITTER role, plus ADMIN for tokens marked as admin
+                AuthenticatedPrincipal principal =
+                    AuthenticatedPrincipal.filmSubmitter(filmTokenAuthenticationService.isAdminToken(token));
+                List<SimpleGrantedAuthority> authorities = principal.isAdmin()
+                    ? List.of(new SimpleGrantedAuthority(ROLE_FILM_SUBMITTER), new SimpleGrantedAuthority(ROLE_ADMIN))
+                    : List.of(new SimpleGrantedAuthority(ROLE_FILM_SUBMITTER));
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    "film-submitter",
+                    principal,
                     null,
-                    List.of(new SimpleGrantedAuthority(ROLE_FILM_SUBMITTER))
+                    authorities
                 );
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
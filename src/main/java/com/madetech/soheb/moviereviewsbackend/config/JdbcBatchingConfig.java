@@ -0,0 +1,37 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets the PostgreSQL driver rewrite the JDBC batches Hibernate sends (see hibernate.jdbc.batch_size) into
+ * multi-row INSERT statements, so a batch costs one statement rather than one per row. Other drivers, such as
+ * the H2 one used in tests, are left alone because they would reject the unknown connection property.
+ */
+@Configuration
+public class JdbcBatchingConfig {
+
+    private static final String POSTGRES_URL_PREFIX = "jdbc:postgresql:";
+
+    @Bean
+    public static BeanPostProcessor batchedInsertRewritePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    enableBatchedInsertRewrite(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static void enableBatchedInsertRewrite(HikariDataSource dataSource) {
+        String url = dataSource.getJdbcUrl();
+        if (url != null && url.startsWith(POSTGRES_URL_PREFIX)) {
+            dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        }
+    }
+}
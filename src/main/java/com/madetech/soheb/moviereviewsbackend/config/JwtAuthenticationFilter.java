@@ -39,19 +39,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                if (jwtService.isTokenValid(token)) {
-                    UUID userId = jwtService.extractUserId(token);
-                    
-                    // Create authentication with USER role
-                    Authentication authentication = new UsernamePasswordAuthenticationToken(
-                        userId.toString(),
-                        null,
-                        List.of(new SimpleGrantedAuthority(ROLE_REVIEW_USER))
-                    );
-                    
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.debug("Successfully authenticated user: {}", userId);
-                }
+                // Throws for an invalid or expired token, so the signature is checked once per request
+                UUID userId = jwtService.extractUserId(token);
+                
+                // Create authentication with USER role
+                Authentication authentication = new UsernamePasswordAuthenticationToken(
+                    AuthenticatedPrincipal.reviewUser(userId),
+                    null,
+                    List.of(new SimpleGrantedAuthority(ROLE_REVIEW_USER))
+                );
+                
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                logger.debug("Successfully authenticated user: {}", userId);
             } catch (Exception e) {
                 logger.debug("JWT authentication failed: {}", e.getMessage());
                 // Don't set authentication on failure
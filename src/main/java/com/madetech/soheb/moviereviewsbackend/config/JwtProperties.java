@@ -7,6 +7,9 @@ import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "moviereviews.auth.review")
 public class JwtProperties {
@@ -19,6 +22,15 @@ public class JwtProperties {
     
     private String privatekey;
     private String publickey;
+
+    /** Signing algorithm for the key pair above: RS512, ES256 or EdDSA (Ed25519). */
+    private String algorithm = "RS512";
+
+    /** Sent as the kid header of new tokens; derived from the public key when not set. */
+    private String keyId;
+
+    /** Further public keys tokens are still accepted from, such as the previous signing key during a rotation. */
+    private List<VerificationKey> verificationKeys = new ArrayList<>();
     
     public String getPrivatekey() {
         return privatekey;
@@ -35,6 +47,30 @@ public class JwtProperties {
     public void setPublickey(String publickey) {
         this.publickey = publickey;
     }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public void setKeyId(String keyId) {
+        this.keyId = keyId;
+    }
+
+    public List<VerificationKey> getVerificationKeys() {
+        return verificationKeys;
+    }
+
+    public void setVerificationKeys(List<VerificationKey> verificationKeys) {
+        this.verificationKeys = verificationKeys;
+    }
     
     @PostConstruct
     public void validateKeys() {
@@ -61,4 +97,35 @@ public class JwtProperties {
             throw new IllegalStateException("JWT public key appears to be using default hardcoded value. Please provide a secure public key via MOVIEREVIEWS_AUTH_REVIEW_PUBLIC_KEY environment variable.");
         }
     }
+
+    public static class VerificationKey {
+
+        private String keyId;
+        private String algorithm = "RS512";
+        private String publickey;
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public String getPublickey() {
+            return publickey;
+        }
+
+        public void setPublickey(String publickey) {
+            this.publickey = publickey;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their reads can be kept on the primary until replicas have caught up.
+ */
+public class ReadYourWritesTracker {
+
+    private final long stickinessNanos;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration stickiness) {
+        this.stickinessNanos = stickiness.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        recordWrite(event.getUserId().toString());
+    }
+
+    public void recordWrite(String principalName) {
+        stickyUntil.put(principalName, System.nanoTime() + stickinessNanos);
+    }
+
+    /**
+     * @return Whether the user authenticated on the current thread wrote within the stickiness window
+     */
+    public boolean isCurrentUserSticky() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        Long until = stickyUntil.get(authentication.getName());
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+}
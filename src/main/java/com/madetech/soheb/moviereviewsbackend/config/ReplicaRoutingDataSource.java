@@ -0,0 +1,103 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica that is within the lag tolerance, round robin, and everything else to
+ * the primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * connection is only chosen once the transaction's read-only flag has been set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker, Duration maxLag, String lagQuery) {
+        this.replicas = Map.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicaLag();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || readYourWritesTracker.isCurrentUserSticky()) {
+            return PRIMARY;
+        }
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Re-measures every replica's lag and keeps only those within tolerance (or reachable at all) in rotation.
+     */
+    public void checkReplicaLag() {
+        List<String> healthy = replicas.entrySet().stream()
+                .filter(replica -> isWithinLag(replica.getKey(), replica.getValue()))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        if (!healthy.equals(healthyReplicas)) {
+            logger.info("Replicas in rotation: {}", healthy);
+        }
+        healthyReplicas = healthy;
+    }
+
+    private boolean isWithinLag(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+            if (Double.isNaN(lagSeconds) || resultSet.wasNull()) {
+                logger.warn("Replica {} lag is unknown, routing reads elsewhere", name);
+                return false;
+            }
+            if (lagSeconds > maxLagSeconds) {
+                logger.warn("Replica {} is {}s behind the primary, routing reads elsewhere", name, lagSeconds);
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Replica {} lag check failed, routing reads elsewhere: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica routing settings. The primary is still configured through the standard spring.datasource properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "moviereviews.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas further behind the primary than this are skipped until they catch up. */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** How long a user's reads stay on the primary after they write. */
+    private Duration stickiness = Duration.ofSeconds(10);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    /**
+     * Returns the replica's replay lag in seconds. A replica that has replayed everything it received is not behind,
+     * however long ago the primary last wrote. NULL means the lag cannot be told (nothing replayed yet), and the
+     * replica is kept out of rotation.
+     */
+    private String lagQuery = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp()))"
+            + " END";
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -1,18 +1,19 @@
 package com.madetech.soheb.moviereviewsbackend.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(Argon2Properties.class)
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -51,14 +52,19 @@ public class SecurityConfig {
                 // Public endpoints
                 .requestMatchers("/v1/auth/signup", "/v1/auth/login").permitAll()
                 .requestMatchers("/v1/movies").permitAll()
+                .requestMatchers("/v1/movies/search", "/v1/movies/facets", "/v1/movies/top", "/v1/movies/trending").permitAll()
                 .requestMatchers("/v1/movies/*/reviews").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
                 
                 // Film submission endpoints - require FILM_SUBMITTER role
-                .requestMatchers("/v1/movies/submit").hasRole("FILM_SUBMITTER")
+                .requestMatchers("/v1/movies/submit", "/v1/movies/submit/batch").hasRole("FILM_SUBMITTER")
+                
+                // Admin endpoints - require a film token marked as admin in auth.json
+                .requestMatchers("/v1/admin/**").hasRole("ADMIN")
                 
                 // Review endpoints - require REVIEW_USER role
                 .requestMatchers("/v1/movies/*/review/submit").hasRole("REVIEW_USER")
+                .requestMatchers("/v1/users/me/**").hasRole("REVIEW_USER")
                 
                 // Actuator endpoints - deny all others
                 .requestMatchers("/actuator/**").denyAll()
@@ -77,7 +83,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+    public PasswordEncoder passwordEncoder(Argon2Properties argon2Properties) {
+        if (argon2Properties.isCalibrate()) {
+            return Argon2Calibrator.calibrate(argon2Properties);
+        }
+        return Argon2Calibrator.encoder(argon2Properties.getMemory(), argon2Properties.getIterations());
     }
 }
\ No newline at end of file
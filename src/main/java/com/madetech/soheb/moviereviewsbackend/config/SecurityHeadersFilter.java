@@ -8,10 +8,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.regex.Pattern;
 
 @Component
 public class SecurityHeadersFilter extends OncePerRequestFilter {
-    
+
+    private static final Pattern PUBLIC_LISTING = Pattern.compile("^/v1/movies(/[^/]+/reviews)?/?$");
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
@@ -38,12 +41,23 @@ public class SecurityHeadersFilter extends OncePerRequestFilter {
         
         // Cache control for sensitive endpoints
         String path = request.getRequestURI();
-        if (path.contains("/auth/") || path.contains("/review/submit") || path.contains("/movies/submit")) {
+        if (path.contains("/auth/") || path.contains("/admin/") || path.contains("/review/submit")
+                || path.contains("/movies/submit")) {
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
             response.setHeader("Pragma", "no-cache");
             response.setHeader("Expires", "0");
+        } else if (isPublicListing(request)) {
+            // Shared caches may keep listings but must revalidate against the ETag before each reuse
+            response.setHeader("Cache-Control", "public, no-cache");
         }
         
         filterChain.doFilter(request, response);
     }
+
+    private boolean isPublicListing(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return false;
+        }
+        return PUBLIC_LISTING.matcher(request.getRequestURI()).matches();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class TransactionConfig {
+
+    public static final String READ_ONLY_TRANSACTION_OPERATIONS = "readOnlyTransactionOperations";
+
+    // Declared explicitly because defining any TransactionTemplate switches off Spring Boot's default one
+    @Bean
+    @Primary
+    public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Read-only transactions for long reads such as streamed listings. Keeping the connection out of autocommit
+     * is what lets the PostgreSQL driver honour the JDBC fetch size instead of buffering the whole result set.
+     */
+    @Bean(READ_ONLY_TRANSACTION_OPERATIONS)
+    public TransactionTemplate readOnlyTransactionOperations(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
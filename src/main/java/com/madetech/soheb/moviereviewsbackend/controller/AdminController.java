@@ -0,0 +1,167 @@
+package com.madetech.soheb.moviereviewsbackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madetech.soheb.moviereviewsbackend.config.AuthenticatedPrincipal;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewImportProgress;
+import com.madetech.soheb.moviereviewsbackend.service.MovieService;
+import com.madetech.soheb.moviereviewsbackend.service.ReviewImportService;
+import com.madetech.soheb.moviereviewsbackend.service.ReviewService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/admin")
+public class AdminController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReviewImportService reviewImportService;
+    private final MovieService movieService;
+    private final ReviewService reviewService;
+    private final ObjectMapper objectMapper;
+
+    public AdminController(ReviewImportService reviewImportService,
+                           MovieService movieService,
+                           ReviewService reviewService,
+                           ObjectMapper objectMapper) {
+        this.reviewImportService = reviewImportService;
+        this.movieService = movieService;
+        this.reviewService = reviewService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports reviews from an NDJSON request body, one review per line. The request body is read and the response
+     * written on the calling thread as the import runs: one progress line per committed batch, then a final line
+     * with {@code done} set. Rejected lines do not fail the import; they are counted and the first few reported.
+     */
+    @PostMapping(value = "/reviews/import", consumes = NDJSON)
+    public void importReviews(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        if (!authorizeAdmin(principal, response)) {
+            return;
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        try {
+            ReviewImportProgress result = reviewImportService.importReviews(request.getInputStream(),
+                    progress -> writeLineAndFlush(out, progress));
+            writeLineAndFlush(out, result);
+        } catch (UncheckedIOException e) {
+            // The client went away; batches already committed stay imported
+            log.warn("Review import aborted: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            // Progress lines may already be on the wire, so the status can no longer change
+            log.error("Review import failed", e);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    @GetMapping(value = "/export/movies", produces = NDJSON)
+    public void exportMovies(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        export(principal, request, response, "movies",
+                out -> movieService.streamAllMovies(movie -> writeLine(out, movie)));
+    }
+
+    @GetMapping(value = "/export/reviews", produces = NDJSON)
+    public void exportReviews(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        export(principal, request, response, "reviews",
+                out -> reviewService.streamAllReviews(review -> writeLine(out, review)));
+    }
+
+    /**
+     * Writes one NDJSON line per row straight from the database cursor, gzipped when the client accepts it. Rows
+     * are flushed to the client as the buffer fills, so neither side holds the whole dump.
+     */
+    private void export(AuthenticatedPrincipal principal, HttpServletRequest request, HttpServletResponse response,
+                        String name, Consumer<OutputStream> writer) throws IOException {
+        if (!authorizeAdmin(principal, response)) {
+            return;
+        }
+
+        boolean gzip = acceptsGzip(request);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream body = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)
+                : response.getOutputStream();
+        OutputStream out = new BufferedOutputStream(body, EXPORT_BUFFER_SIZE);
+        try {
+            writer.accept(out);
+        } catch (RuntimeException e) {
+            // The status is already sent, so the body is left unfinished (no gzip trailer, no final chunk) and the
+            // client sees an aborted transfer rather than a short dump that looks complete
+            log.error("Export of {} failed", name, e);
+            throw e;
+        }
+        out.close();
+    }
+
+    /**
+     * Sets 401 when no credential was sent and 403 when a valid non-admin one was, so a film submitter or review
+     * user is not told to re-authenticate.
+     */
+    private boolean authorizeAdmin(AuthenticatedPrincipal principal, HttpServletResponse response) {
+        if (principal == null) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return false;
+        }
+        if (!principal.isAdmin()) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    private void writeLineAndFlush(OutputStream out, Object value) {
+        writeLine(out, value);
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
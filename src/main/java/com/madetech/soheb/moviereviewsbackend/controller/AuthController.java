@@ -5,9 +5,11 @@ import com.madetech.soheb.moviereviewsbackend.data.controller.ApiResponse;
 import com.madetech.soheb.moviereviewsbackend.data.controller.ApiError;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserRegistrationRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserLoginRequest;
+import com.madetech.soheb.moviereviewsbackend.data.exceptions.HashingCapacityExceededException;
 import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -47,6 +49,9 @@ public class AuthController {
             String jwtToken = authenticationService.generateJwtToken(userOpt.get());
             return ResponseEntity.ok(ApiResponse.success(jwtToken));
             
+        } catch (HashingCapacityExceededException e) {
+            log.warn("Signup rejected: password hashing queue is full");
+            return busy(e);
         } catch (RuntimeException e) {
             log.error("Signup failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -76,6 +81,9 @@ public class AuthController {
             String jwtToken = authenticationService.generateJwtToken(userOpt.get());
             return ResponseEntity.ok(ApiResponse.success(jwtToken));
             
+        } catch (HashingCapacityExceededException e) {
+            log.warn("Login rejected: password hashing queue is full");
+            return busy(e);
         } catch (RuntimeException e) {
             log.error("Login failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -83,4 +91,10 @@ public class AuthController {
             );
         }
     }
+
+    private ResponseEntity<ApiResponse<String>> busy(HashingCapacityExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(ApiResponse.failure(new ApiError(1007L, "Too many authentication requests, try again shortly")));
+    }
 }
\ No newline at end of file
@@ -1,21 +1,38 @@
 package com.madetech.soheb.moviereviewsbackend.controller;
 
+import com.madetech.soheb.moviereviewsbackend.config.AuthenticatedPrincipal;
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
 import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
 import com.madetech.soheb.moviereviewsbackend.data.database.Review;
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.JsonPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFacetCounts;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFilter;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieSubmissionRequest;
-import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieSubmissionResult;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
 import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSubmissionRequest;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary;
 import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
+import com.madetech.soheb.moviereviewsbackend.service.MovieCatalogService;
+import com.madetech.soheb.moviereviewsbackend.service.MovieSearchIndex;
 import com.madetech.soheb.moviereviewsbackend.service.MovieService;
+import com.madetech.soheb.moviereviewsbackend.service.ResourceVersionService;
 import com.madetech.soheb.moviereviewsbackend.service.ReviewService;
+import com.madetech.soheb.moviereviewsbackend.service.TrendingService;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,23 +42,41 @@ import java.util.UUID;
 @RequestMapping("/v1/movies")
 public class MovieController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final MovieService movieService;
     private final ReviewService reviewService;
     private final AuthenticationService authenticationService;
+    private final MovieCatalogService movieCatalogService;
+    private final ResourceVersionService resourceVersionService;
+    private final TrendingService trendingService;
+    private final Validator validator;
 
     public MovieController(MovieService movieService, ReviewService reviewService, 
-                          AuthenticationService authenticationService) {
+                          AuthenticationService authenticationService,
+                          MovieCatalogService movieCatalogService,
+                          ResourceVersionService resourceVersionService,
+                          TrendingService trendingService,
+                          Validator validator) {
         this.movieService = movieService;
         this.reviewService = reviewService;
         this.authenticationService = authenticationService;
+        this.movieCatalogService = movieCatalogService;
+        this.resourceVersionService = resourceVersionService;
+        this.trendingService = trendingService;
+        this.validator = validator;
     }
 
     @PostMapping("/submit")
     public ResponseEntity<Void> submitMovie(@Valid @RequestBody MovieSubmissionRequest request,
                                           BindingResult bindingResult,
-                                          @RequestHeader("X-API-AUTH") String authToken) {
+                                          @AuthenticationPrincipal AuthenticatedPrincipal principal) {
         try {
-            if (!authenticationService.validateFilmToken(authToken)) {
+            if (principal == null || !principal.isFilmSubmitter()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
@@ -63,25 +98,182 @@ public class MovieController {
         }
     }
 
+    @PostMapping("/submit/batch")
+    public ResponseEntity<List<MovieSubmissionResult>> submitMovies(@RequestBody List<MovieSubmissionRequest> requests,
+                                                                    @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        try {
+            if (principal == null || !principal.isFilmSubmitter()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            // Validate the whole batch up front so one bad item is reported rather than failing the rest
+            MovieSubmissionResult[] results = new MovieSubmissionResult[requests.size()];
+            List<MovieSubmissionRequest> accepted = new ArrayList<>();
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                MovieSubmissionRequest request = requests.get(i);
+                List<String> errors = request == null
+                        ? List.of("request")
+                        : validator.validate(request).stream()
+                                .map(violation -> violation.getPropertyPath().toString())
+                                .distinct()
+                                .sorted()
+                                .toList();
+                if (errors.isEmpty()) {
+                    accepted.add(request);
+                    acceptedIndexes.add(i);
+                } else {
+                    results[i] = MovieSubmissionResult.rejected(i, errors);
+                }
+            }
+
+            if (!accepted.isEmpty()) {
+                List<Movie> saved = movieService.submitMovies(accepted);
+                for (int i = 0; i < saved.size(); i++) {
+                    int index = acceptedIndexes.get(i);
+                    results[index] = MovieSubmissionResult.saved(index, saved.get(i).getId());
+                }
+            }
+
+            return ResponseEntity.ok(List.of(results));
+
+        } catch (RuntimeException e) {
+            log.error("Movie batch submission failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<MovieWithRating>> getAllMovies() {
+    public ResponseEntity<byte[]> getAllMovies(@RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                               @RequestParam(required = false) String after,
+                                               @RequestParam(name = "genre", defaultValue = "") List<String> genres,
+                                               @RequestParam(name = "ageRating", defaultValue = "") List<AgeRating> ageRatings,
+                                               @RequestParam(required = false) Integer yearFrom,
+                                               @RequestParam(required = false) Integer yearTo,
+                                               WebRequest webRequest) {
         try {
-            List<MovieWithRating> movies = movieService.getAllMoviesWithRating();
-            return ResponseEntity.ok(movies);
+            if (limit < 1 || limit > MAX_PAGE_SIZE || !isValidYearRange(yearFrom, yearTo)) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            PageCursor cursor = after != null ? PageCursor.decode(after) : null;
+            MovieFilter filter = new MovieFilter(genres, ageRatings, yearFrom, yearTo);
+
+            // Version is read before the page, so a tag can be older than the body it is sent with but never newer
+            String eTag = resourceVersionService.moviesETag(movieCatalogService.getVersion(), limit, cursor, filter);
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
+            // Served from the pre-encoded in-memory catalog, so no database or Jackson work per request
+            JsonPage page = movieCatalogService.getPage(limit, cursor, filter);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON);
+            if (page.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor().encode());
+            }
+            return response.body(page.getBody());
             
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected malformed movie page cursor: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             log.error("Failed to retrieve movies", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<MovieFacetCounts> getMovieFacets(@RequestParam(name = "genre", defaultValue = "") List<String> genres,
+                                                           @RequestParam(name = "ageRating", defaultValue = "") List<AgeRating> ageRatings,
+                                                           @RequestParam(required = false) Integer yearFrom,
+                                                           @RequestParam(required = false) Integer yearTo) {
+        try {
+            if (!isValidYearRange(yearFrom, yearTo)) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            return ResponseEntity.ok(movieCatalogService.getFacetCounts(new MovieFilter(genres, ageRatings, yearFrom, yearTo)));
+
+        } catch (RuntimeException e) {
+            log.error("Failed to count movie facets", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<byte[]> getTopRatedMovies(@RequestParam(required = false) String genre,
+                                                    @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            // Read from the incrementally maintained leaderboard, so the cost is in the result size only
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(movieCatalogService.getTopRated(genre, limit));
+
+        } catch (RuntimeException e) {
+            log.error("Failed to retrieve top rated movies", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<byte[]> getTrendingMovies(@RequestParam(defaultValue = "day") String window,
+                                                    @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            // Ranked from in-memory review counters, then encoded from the catalog
+            List<UUID> trending = trendingService.top(TrendingService.Window.parse(window), limit);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(movieCatalogService.getMovies(trending));
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected unknown trending window: {}", window);
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            log.error("Failed to retrieve trending movies", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<byte[]> searchMovies(@RequestParam String q,
+                                               @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE || q.length() > MAX_QUERY_LENGTH
+                    || MovieSearchIndex.tokenize(q).isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            // Answered from the in-memory inverted index and pre-encoded catalog, without LIKE scans
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(movieCatalogService.search(q, limit));
+
+        } catch (RuntimeException e) {
+            log.error("Failed to search movies", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PostMapping("/{movieId}/review/submit")
     public ResponseEntity<Void> submitReview(@PathVariable UUID movieId,
                                            @Valid @RequestBody ReviewSubmissionRequest request,
                                            BindingResult bindingResult,
-                                           @RequestHeader("X-API-AUTH") String authToken) {
+                                           @AuthenticationPrincipal AuthenticatedPrincipal principal) {
         try {
-            Optional<User> userOpt = authenticationService.validateJwtToken(authToken);
+            Optional<User> userOpt = authenticationService.resolveUser(principal);
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -106,14 +298,40 @@ public class MovieController {
     }
 
     @GetMapping("/{movieId}/reviews")
-    public ResponseEntity<List<Review>> getMovieReviews(@PathVariable UUID movieId) {
+    public ResponseEntity<List<ReviewSummary>> getMovieReviews(@PathVariable UUID movieId,
+                                                               @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                               @RequestParam(required = false) String after,
+                                                               WebRequest webRequest) {
         try {
-            List<Review> reviews = reviewService.getReviewsForMovie(movieId);
-            return ResponseEntity.ok(reviews);
-            
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            PageCursor cursor = after != null ? PageCursor.decode(after) : null;
+
+            String eTag = resourceVersionService.reviewsETag(movieId, limit, cursor);
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
+            CursorPage<ReviewSummary> page = reviewService.getReviewsForMovie(movieId, limit, cursor);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+            if (page.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor().encode());
+            }
+            return response.body(page.getItems());
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected malformed review page cursor: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             log.error("Failed to retrieve movie reviews", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    private boolean isValidYearRange(Integer yearFrom, Integer yearTo) {
+        return yearFrom == null || yearTo == null || yearFrom <= yearTo;
+    }
+}
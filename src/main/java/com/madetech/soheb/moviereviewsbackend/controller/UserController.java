@@ -0,0 +1,69 @@
+package com.madetech.soheb.moviereviewsbackend.controller;
+
+import com.madetech.soheb.moviereviewsbackend.config.AuthenticatedPrincipal;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
+import com.madetech.soheb.moviereviewsbackend.data.controller.UserReviewSummary;
+import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
+import com.madetech.soheb.moviereviewsbackend.service.ReviewService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/users")
+public class UserController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final AuthenticationService authenticationService;
+    private final ReviewService reviewService;
+
+    public UserController(AuthenticationService authenticationService, ReviewService reviewService) {
+        this.authenticationService = authenticationService;
+        this.reviewService = reviewService;
+    }
+
+    @GetMapping("/me/reviews")
+    public ResponseEntity<List<UserReviewSummary>> getMyReviews(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                                                @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                                @RequestParam(required = false) String after) {
+        try {
+            Optional<User> userOpt = authenticationService.resolveUser(principal);
+
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            PageCursor cursor = after != null ? PageCursor.decode(after) : null;
+
+            CursorPage<UserReviewSummary> page = reviewService.getReviewsByUser(userOpt.get().getId(), limit, cursor);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor().encode());
+            }
+            return response.body(page.getItems());
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected malformed review history cursor: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            log.error("Failed to retrieve review history", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A page of a listing whose body has already been encoded as a JSON array.
+ * {@code nextCursor} is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JsonPage {
+    private byte[] body;
+    private PageCursor nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JsonPage jsonPage = (JsonPage) o;
+        return Arrays.equals(body, jsonPage.body) &&
+                Objects.equals(nextCursor, jsonPage.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(body), nextCursor);
+    }
+}
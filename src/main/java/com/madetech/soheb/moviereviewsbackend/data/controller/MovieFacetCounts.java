@@ -0,0 +1,39 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Number of movies per facet value. Each dimension is counted with the other dimensions' filters applied but not
+ * its own, so the counts show what selecting another value in that dimension would return.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieFacetCounts {
+    private int total;
+    private Map<String, Integer> genres;
+    private Map<AgeRating, Integer> ageRatings;
+    private Map<Integer, Integer> releaseYears;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MovieFacetCounts that = (MovieFacetCounts) o;
+        return total == that.total &&
+                Objects.equals(genres, that.genres) &&
+                Objects.equals(ageRatings, that.ageRatings) &&
+                Objects.equals(releaseYears, that.releaseYears);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(total, genres, ageRatings, releaseYears);
+    }
+}
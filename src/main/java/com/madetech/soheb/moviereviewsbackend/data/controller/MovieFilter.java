@@ -0,0 +1,47 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Facet filter for the movie listing. Values within a dimension are alternatives (any genre listed matches),
+ * dimensions are combined (genre and age rating and year range). Empty lists and null years do not filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieFilter {
+    private List<String> genres = List.of();
+    private List<AgeRating> ageRatings = List.of();
+    private Integer yearFrom;
+    private Integer yearTo;
+
+    public static MovieFilter none() {
+        return new MovieFilter(List.of(), List.of(), null, null);
+    }
+
+    public boolean isUnfiltered() {
+        return genres.isEmpty() && ageRatings.isEmpty() && yearFrom == null && yearTo == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MovieFilter that = (MovieFilter) o;
+        return Objects.equals(genres, that.genres) &&
+                Objects.equals(ageRatings, that.ageRatings) &&
+                Objects.equals(yearFrom, that.yearFrom) &&
+                Objects.equals(yearTo, that.yearTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(genres, ageRatings, yearFrom, yearTo);
+    }
+}
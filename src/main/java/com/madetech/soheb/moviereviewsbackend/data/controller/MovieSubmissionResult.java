@@ -0,0 +1,45 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Outcome of one movie in a batch submission, at the same index as its request. Saved movies carry their id;
+ * rejected ones carry the paths of the fields that failed validation instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieSubmissionResult {
+    private int index;
+    private UUID id;
+    private List<String> errors;
+
+    public static MovieSubmissionResult saved(int index, UUID id) {
+        return new MovieSubmissionResult(index, id, List.of());
+    }
+
+    public static MovieSubmissionResult rejected(int index, List<String> errors) {
+        return new MovieSubmissionResult(index, null, errors);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MovieSubmissionResult that = (MovieSubmissionResult) o;
+        return index == that.index &&
+                Objects.equals(id, that.id) &&
+                Objects.equals(errors, that.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, id, errors);
+    }
+}
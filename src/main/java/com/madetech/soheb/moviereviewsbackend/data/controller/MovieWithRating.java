@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -23,11 +24,22 @@ public class MovieWithRating {
     private AgeRating ageRating;
     private LocalDateTime createdAt;
     private Double averageRating;
+    private long reviewCount;
+    // Reviews per rating value, indexed by rating (0 to 10)
+    private long[] ratingHistogram;
 
     public MovieWithRating(UUID id, String name, List<String> genres, List<String> directors, 
                           List<String> writers, List<String> cast, List<String> producers, 
                           Integer releaseYear, AgeRating ageRating, LocalDateTime createdAt, 
                           Double averageRating) {
+        this(id, name, genres, directors, writers, cast, producers, releaseYear, ageRating, createdAt,
+             averageRating, 0L);
+    }
+
+    public MovieWithRating(UUID id, String name, List<String> genres, List<String> directors,
+                          List<String> writers, List<String> cast, List<String> producers,
+                          Integer releaseYear, AgeRating ageRating, LocalDateTime createdAt,
+                          Double averageRating, long reviewCount) {
         this.id = id;
         this.name = name;
         this.genres = genres;
@@ -39,6 +51,7 @@ public class MovieWithRating {
         this.ageRating = ageRating;
         this.createdAt = createdAt;
         this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
     }
 
     public MovieWithRating(UUID id, String name, List<String> genres, List<String> directors, 
@@ -64,11 +77,14 @@ public class MovieWithRating {
                 Objects.equals(releaseYear, that.releaseYear) &&
                 ageRating == that.ageRating &&
                 Objects.equals(createdAt, that.createdAt) &&
-                Objects.equals(averageRating, that.averageRating);
+                Objects.equals(averageRating, that.averageRating) &&
+                reviewCount == that.reviewCount &&
+                Arrays.equals(ratingHistogram, that.ratingHistogram);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, genres, directors, writers, cast, producers, releaseYear, ageRating, createdAt, averageRating);
+        return Objects.hash(id, name, genres, directors, writers, cast, producers, releaseYear, ageRating, createdAt, averageRating,
+                reviewCount, Arrays.hashCode(ratingHistogram));
     }
 }
\ No newline at end of file
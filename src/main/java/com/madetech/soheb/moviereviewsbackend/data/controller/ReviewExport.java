@@ -0,0 +1,43 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One review in a full export, with the ids of its movie and author. Built directly by a JPQL constructor
+ * expression so exports never load or manage {@code Review} entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewExport {
+    private UUID id;
+    private UUID movieId;
+    private UUID userId;
+    private Integer rating;
+    private String description;
+    private LocalDateTime timestamp;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReviewExport that = (ReviewExport) o;
+        return Objects.equals(id, that.id) &&
+                Objects.equals(movieId, that.movieId) &&
+                Objects.equals(userId, that.userId) &&
+                Objects.equals(rating, that.rating) &&
+                Objects.equals(description, that.description) &&
+                Objects.equals(timestamp, that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, movieId, userId, rating, description, timestamp);
+    }
+}
@@ -0,0 +1,41 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Running totals of a bulk review import, written as one NDJSON line after every batch and once more, with
+ * {@code done} set, at the end. {@code errors} holds at most the first few rejections, each as
+ * {@code "line <n>: <reason>"}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewImportProgress {
+    private long processed;
+    private long imported;
+    private long rejected;
+    private boolean done;
+    private List<String> errors;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReviewImportProgress that = (ReviewImportProgress) o;
+        return processed == that.processed &&
+                imported == that.imported &&
+                rejected == that.rejected &&
+                done == that.done &&
+                Objects.equals(errors, that.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(processed, imported, rejected, done, errors);
+    }
+}
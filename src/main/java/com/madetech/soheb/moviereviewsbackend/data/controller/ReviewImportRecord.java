@@ -0,0 +1,51 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One line of a bulk review import: a review as submitted through the API, plus the movie and user it belongs
+ * to and, optionally, when it was originally written. The rating and description carry the same constraints as
+ * {@link ReviewSubmissionRequest}.
+ */
+@Data
+@NoArgsConstructor
+public class ReviewImportRecord extends ReviewSubmissionRequest {
+    @NotNull
+    private UUID movieId;
+
+    @NotNull
+    private UUID userId;
+
+    @PastOrPresent
+    private LocalDateTime timestamp;
+
+    public ReviewImportRecord(UUID movieId, UUID userId, Integer rating, String description, LocalDateTime timestamp) {
+        super(rating, description);
+        this.movieId = movieId;
+        this.userId = userId;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        ReviewImportRecord that = (ReviewImportRecord) o;
+        return Objects.equals(movieId, that.movieId) &&
+                Objects.equals(userId, that.userId) &&
+                Objects.equals(timestamp, that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), movieId, userId, timestamp);
+    }
+}
@@ -0,0 +1,41 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Public view of a review. Built directly by a JPQL constructor expression so listings never load
+ * {@code Review}, {@code Movie} or {@code User} entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummary {
+    private UUID id;
+    private Integer rating;
+    private String description;
+    private LocalDateTime timestamp;
+    private String username;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReviewSummary that = (ReviewSummary) o;
+        return Objects.equals(id, that.id) &&
+                Objects.equals(rating, that.rating) &&
+                Objects.equals(description, that.description) &&
+                Objects.equals(timestamp, that.timestamp) &&
+                Objects.equals(username, that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, rating, description, timestamp, username);
+    }
+}
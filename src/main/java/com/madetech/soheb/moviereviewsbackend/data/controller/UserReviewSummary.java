@@ -0,0 +1,43 @@
+package com.madetech.soheb.moviereviewsbackend.data.controller;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A review in its author's history, with just enough of the movie to display it. Built directly by a JPQL
+ * constructor expression so no {@code Review} or {@code Movie} entities are loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserReviewSummary {
+    private UUID id;
+    private UUID movieId;
+    private String movieName;
+    private Integer rating;
+    private String description;
+    private LocalDateTime timestamp;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserReviewSummary that = (UserReviewSummary) o;
+        return Objects.equals(id, that.id) &&
+                Objects.equals(movieId, that.movieId) &&
+                Objects.equals(movieName, that.movieName) &&
+                Objects.equals(rating, that.rating) &&
+                Objects.equals(description, that.description) &&
+                Objects.equals(timestamp, that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, movieId, movieName, rating, description, timestamp);
+    }
+}
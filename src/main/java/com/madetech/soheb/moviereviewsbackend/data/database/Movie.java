@@ -1,10 +1,15 @@
 package com.madetech.soheb.moviereviewsbackend.data.database;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,10 +18,11 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "movies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-public class Movie {
+public class Movie implements Persistable<UUID> {
     @Id
     private UUID id;
     
@@ -24,26 +30,31 @@ public class Movie {
     private String name;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies.genres")
     @CollectionTable(name = "movie_genres", joinColumns = @JoinColumn(name = "movie_id"))
     @Column(name = "genre", length = 20)
     private List<String> genres;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies.directors")
     @CollectionTable(name = "movie_directors", joinColumns = @JoinColumn(name = "movie_id"))
     @Column(name = "director", length = 100)
     private List<String> directors;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies.writers")
     @CollectionTable(name = "movie_writers", joinColumns = @JoinColumn(name = "movie_id"))
     @Column(name = "writer", length = 100)
     private List<String> writers;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies.cast")
     @CollectionTable(name = "movie_cast", joinColumns = @JoinColumn(name = "movie_id"))
     @Column(name = "cast_member", length = 100)
     private List<String> cast;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies.producers")
     @CollectionTable(name = "movie_producers", joinColumns = @JoinColumn(name = "movie_id"))
     @Column(name = "producer", length = 100)
     private List<String> producers;
@@ -58,6 +69,38 @@ public class Movie {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Ids are assigned before saving, so Spring Data needs telling to persist rather than merge (which SELECTs first)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public Movie(UUID id, String name, List<String> genres, List<String> directors, List<String> writers,
+                 List<String> cast, List<String> producers, Integer releaseYear, AgeRating ageRating,
+                 LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.genres = genres;
+        this.directors = directors;
+        this.writers = writers;
+        this.cast = cast;
+        this.producers = producers;
+        this.releaseYear = releaseYear;
+        this.ageRating = ageRating;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.persisted = true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,100 @@
+package com.madetech.soheb.moviereviewsbackend.data.database;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Running rating aggregate for a single movie, kept in step with the reviews table on every review write
+ * so listings never have to aggregate over reviews.
+ */
+@Entity
+@Table(name = "movie_rating_stats")
+@Data
+@NoArgsConstructor
+public class MovieRatingStats implements Persistable<UUID> {
+    @Id
+    @Column(name = "movie_id")
+    private UUID movieId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "min_rating")
+    private Integer minRating;
+
+    @Column(name = "max_rating")
+    private Integer maxRating;
+
+    @Column(name = "last_review_at")
+    private LocalDateTime lastReviewAt;
+
+    // Created alongside its movie with an assigned id, so saving must persist rather than merge (which SELECTs first)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public MovieRatingStats(UUID movieId, long ratingSum, long ratingCount, Integer minRating, Integer maxRating,
+                            LocalDateTime lastReviewAt) {
+        this.movieId = movieId;
+        this.ratingSum = ratingSum;
+        this.ratingCount = ratingCount;
+        this.minRating = minRating;
+        this.maxRating = maxRating;
+        this.lastReviewAt = lastReviewAt;
+    }
+
+    public static MovieRatingStats empty(UUID movieId) {
+        return new MovieRatingStats(movieId, 0L, 0L, null, null, null);
+    }
+
+    @Override
+    public UUID getId() {
+        return movieId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    public Double getAverageRating() {
+        return ratingCount == 0 ? null : (double) ratingSum / ratingCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MovieRatingStats that = (MovieRatingStats) o;
+        return ratingSum == that.ratingSum &&
+                ratingCount == that.ratingCount &&
+                Objects.equals(movieId, that.movieId) &&
+                Objects.equals(minRating, that.minRating) &&
+                Objects.equals(maxRating, that.maxRating) &&
+                Objects.equals(lastReviewAt, that.lastReviewAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(movieId, ratingSum, ratingCount, minRating, maxRating, lastReviewAt);
+    }
+}
@@ -2,31 +2,34 @@ package com.madetech.soheb.moviereviewsbackend.data.database;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", uniqueConstraints = @UniqueConstraint(
+        name = "uq_reviews_user_id_movie_id", columnNames = {"user_id", "movie_id"}))
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-public class Review {
+public class Review implements Persistable<UUID> {
     @Id
     @NotNull
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "movie_id", nullable = false)
+    @JoinColumn(name = "movie_id", nullable = false, foreignKey = @ForeignKey(name = "fk_reviews_movie_id"))
     @NotNull
     private Movie movie;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_reviews_user_id"))
     @NotNull
     private User user;
     
@@ -45,6 +48,32 @@ public class Review {
     @NotNull
     private LocalDateTime timestamp;
 
+    // Ids are assigned before saving, so Spring Data needs telling to persist rather than merge (which SELECTs first)
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public Review(UUID id, Movie movie, User user, Integer rating, String description, LocalDateTime timestamp) {
+        this.id = id;
+        this.movie = movie;
+        this.user = user;
+        this.rating = rating;
+        this.description = description;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.persisted = true;
+    }
+
     // Convenience methods for backward compatibility
     public UUID getMovieId() {
         return movie != null ? movie.getId() : null;
@@ -0,0 +1,32 @@
+package com.madetech.soheb.moviereviewsbackend.data.events;
+
+import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Objects;
+
+/**
+ * Published inside the submitting transaction once a movie has been saved.
+ * Listeners that keep in-memory read models should use an after-commit transactional listener.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieSubmittedEvent {
+    private Movie movie;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MovieSubmittedEvent that = (MovieSubmittedEvent) o;
+        return Objects.equals(movie, that.movie);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(movie);
+    }
+}
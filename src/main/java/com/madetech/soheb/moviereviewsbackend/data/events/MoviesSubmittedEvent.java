@@ -0,0 +1,33 @@
+package com.madetech.soheb.moviereviewsbackend.data.events;
+
+import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Published inside the submitting transaction once a batch of movies has been saved, so read models can
+ * apply the whole batch in one update rather than one per movie.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoviesSubmittedEvent {
+    private List<Movie> movies;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MoviesSubmittedEvent that = (MoviesSubmittedEvent) o;
+        return Objects.equals(movies, that.movies);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(movies);
+    }
+}
@@ -0,0 +1,41 @@
+package com.madetech.soheb.moviereviewsbackend.data.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Published inside the submitting transaction once a review and its rating aggregate have been written.
+ * Listeners that keep in-memory read models should use an after-commit transactional listener.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSubmittedEvent {
+    private UUID reviewId;
+    private UUID movieId;
+    private UUID userId;
+    private int rating;
+    private LocalDateTime timestamp;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReviewSubmittedEvent that = (ReviewSubmittedEvent) o;
+        return rating == that.rating &&
+                Objects.equals(reviewId, that.reviewId) &&
+                Objects.equals(movieId, that.movieId) &&
+                Objects.equals(userId, that.userId) &&
+                Objects.equals(timestamp, that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(reviewId, movieId, userId, rating, timestamp);
+    }
+}
@@ -0,0 +1,45 @@
+package com.madetech.soheb.moviereviewsbackend.data.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Published inside the import transaction once a batch of imported reviews and their rating aggregates have been
+ * written. Carries, per movie, how many reviews were imported at each rating (indexed by rating) rather than one
+ * entry per review, so listeners can apply a whole batch at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewsImportedEvent {
+    private Map<UUID, long[]> ratingCounts;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReviewsImportedEvent that = (ReviewsImportedEvent) o;
+        if (ratingCounts == null || that.ratingCounts == null) {
+            return ratingCounts == that.ratingCounts;
+        }
+        return ratingCounts.keySet().equals(that.ratingCounts.keySet()) &&
+                ratingCounts.entrySet().stream()
+                        .allMatch(entry -> Arrays.equals(entry.getValue(), that.ratingCounts.get(entry.getKey())));
+    }
+
+    @Override
+    public int hashCode() {
+        if (ratingCounts == null) {
+            return 0;
+        }
+        return ratingCounts.entrySet().stream()
+                .mapToInt(entry -> Objects.hashCode(entry.getKey()) ^ Arrays.hashCode(entry.getValue()))
+                .sum();
+    }
+}
@@ -0,0 +1,20 @@
+package com.madetech.soheb.moviereviewsbackend.data.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the password hashing queue is full and a signup or login cannot be taken on.
+ */
+public class HashingCapacityExceededException extends MovieReviewServiceException {
+
+    private final Duration retryAfter;
+
+    public HashingCapacityExceededException(Duration retryAfter) {
+        super("ERR_HASHING_CAPACITY_EXCEEDED", "Password hashing queue is full");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,38 @@
+package com.madetech.soheb.moviereviewsbackend.repository;
+
+import com.madetech.soheb.moviereviewsbackend.data.database.MovieRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface MovieRatingStatsRepository extends JpaRepository<MovieRatingStats, UUID> {
+
+    /**
+     * Adds a batch of ratings to a movie's aggregate, creating the row if this is the movie's first review. One
+     * statement, so concurrent first reviews cannot both try to insert the row: whichever comes second updates it,
+     * and concurrent writers serialise on the row lock instead of losing increments.
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO MovieRatingStats (movieId, ratingSum, ratingCount, minRating, maxRating, lastReviewAt)
+        VALUES (:movieId, :ratingSum, :ratingCount, :minRating, :maxRating, :lastReviewAt)
+        ON CONFLICT (movieId) DO UPDATE
+        SET ratingSum = ratingSum + excluded.ratingSum,
+            ratingCount = ratingCount + excluded.ratingCount,
+            minRating = CASE WHEN minRating IS NULL OR excluded.minRating < minRating THEN excluded.minRating ELSE minRating END,
+            maxRating = CASE WHEN maxRating IS NULL OR excluded.maxRating > maxRating THEN excluded.maxRating ELSE maxRating END,
+            lastReviewAt = CASE WHEN lastReviewAt IS NULL OR excluded.lastReviewAt > lastReviewAt THEN excluded.lastReviewAt ELSE lastReviewAt END
+        """)
+    int upsertStats(@Param("movieId") UUID movieId,
+                    @Param("ratingSum") long ratingSum,
+                    @Param("ratingCount") long ratingCount,
+                    @Param("minRating") int minRating,
+                    @Param("maxRating") int maxRating,
+                    @Param("lastReviewAt") LocalDateTime lastReviewAt);
+}
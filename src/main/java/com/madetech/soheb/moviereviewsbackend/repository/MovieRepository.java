@@ -1,22 +1,61 @@
 package com.madetech.soheb.moviereviewsbackend.repository;
 
 import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
-import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, UUID> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
     @Query("""
-        SELECT m, AVG(CAST(r.rating AS double))
-        FROM Movie m LEFT JOIN Review r ON m.id = r.movie.id
-        GROUP BY m.id
+        SELECT m, s
+        FROM Movie m LEFT JOIN MovieRatingStats s ON s.movieId = m.id
         ORDER BY m.createdAt DESC
         """)
-    List<Object[]> findAllMoviesWithAverageRating();
-}
\ No newline at end of file
+    List<Object[]> findAllMoviesWithRatingStats();
+
+    // Batched credit loaders: one IN-list query per collection table instead of one lazy load per movie
+
+    @Query("SELECT m.id, g FROM Movie m JOIN m.genres g WHERE m.id IN :movieIds")
+    List<Object[]> findGenresByMovieIds(@Param("movieIds") Collection<UUID> movieIds);
+
+    @Query("SELECT m.id, d FROM Movie m JOIN m.directors d WHERE m.id IN :movieIds")
+    List<Object[]> findDirectorsByMovieIds(@Param("movieIds") Collection<UUID> movieIds);
+
+    @Query("SELECT m.id, w FROM Movie m JOIN m.writers w WHERE m.id IN :movieIds")
+    List<Object[]> findWritersByMovieIds(@Param("movieIds") Collection<UUID> movieIds);
+
+    @Query("SELECT m.id, c FROM Movie m JOIN m.cast c WHERE m.id IN :movieIds")
+    List<Object[]> findCastByMovieIds(@Param("movieIds") Collection<UUID> movieIds);
+
+    @Query("SELECT m.id, p FROM Movie m JOIN m.producers p WHERE m.id IN :movieIds")
+    List<Object[]> findProducersByMovieIds(@Param("movieIds") Collection<UUID> movieIds);
+
+    @Query("SELECT m.id FROM Movie m WHERE m.id IN :movieIds")
+    List<UUID> findExistingIds(@Param("movieIds") Collection<UUID> movieIds);
+
+    /**
+     * Every movie as scalar columns (id, name, releaseYear, ageRating, createdAt, ratingSum, ratingCount), in no
+     * particular order, read through a forward-only cursor {@value #EXPORT_FETCH_SIZE} rows at a time. No
+     * entities are loaded, so nothing accumulates in the persistence context. Must be consumed inside a
+     * transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("""
+        SELECT m.id, m.name, m.releaseYear, m.ageRating, m.createdAt, s.ratingSum, s.ratingCount
+        FROM Movie m LEFT JOIN MovieRatingStats s ON s.movieId = m.id
+        """)
+    Stream<Object[]> streamAllForExport();
+}
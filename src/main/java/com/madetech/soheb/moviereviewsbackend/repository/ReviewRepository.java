@@ -1,18 +1,93 @@
 package com.madetech.soheb.moviereviewsbackend.repository;
 
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewExport;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary;
+import com.madetech.soheb.moviereviewsbackend.data.controller.UserReviewSummary;
 import com.madetech.soheb.moviereviewsbackend.data.database.Review;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
-    List<Review> findByMovie_IdOrderByTimestampDesc(UUID movieId);
+    int EXPORT_FETCH_SIZE = 1000;
 
-    List<Review> findByUser_IdOrderByTimestampDesc(UUID userId);
+    // Public summaries joined to the reviewer in one statement, so no Review, Movie or User entities are loaded
 
-    boolean existsByUser_IdAndMovie_Id(UUID userId, UUID movieId);
-}
\ No newline at end of file
+    @Query("""
+        SELECT new com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary(
+            r.id, r.rating, r.description, r.timestamp, u.username)
+        FROM Review r JOIN r.user u
+        WHERE r.movie.id = :movieId
+        ORDER BY r.timestamp DESC, r.id DESC
+        """)
+    List<ReviewSummary> findSummariesByMovieId(@Param("movieId") UUID movieId, Limit limit);
+
+    // Keyset seek on (timestamp, id) within the movie, served by idx_reviews_movie_id_timestamp_id
+    @Query("""
+        SELECT new com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary(
+            r.id, r.rating, r.description, r.timestamp, u.username)
+        FROM Review r JOIN r.user u
+        WHERE r.movie.id = :movieId
+          AND (r.timestamp < :timestamp OR (r.timestamp = :timestamp AND r.id < :id))
+        ORDER BY r.timestamp DESC, r.id DESC
+        """)
+    List<ReviewSummary> findSummariesByMovieIdAfter(@Param("movieId") UUID movieId,
+                                                    @Param("timestamp") LocalDateTime timestamp,
+                                                    @Param("id") UUID id,
+                                                    Limit limit);
+
+    // A user's own history joined only to the movie name, served by idx_reviews_user_id_timestamp_id
+
+    @Query("""
+        SELECT new com.madetech.soheb.moviereviewsbackend.data.controller.UserReviewSummary(
+            r.id, m.id, m.name, r.rating, r.description, r.timestamp)
+        FROM Review r JOIN r.movie m
+        WHERE r.user.id = :userId
+        ORDER BY r.timestamp DESC, r.id DESC
+        """)
+    List<UserReviewSummary> findSummariesByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query("""
+        SELECT new com.madetech.soheb.moviereviewsbackend.data.controller.UserReviewSummary(
+            r.id, m.id, m.name, r.rating, r.description, r.timestamp)
+        FROM Review r JOIN r.movie m
+        WHERE r.user.id = :userId
+          AND (r.timestamp < :timestamp OR (r.timestamp = :timestamp AND r.id < :id))
+        ORDER BY r.timestamp DESC, r.id DESC
+        """)
+    List<UserReviewSummary> findSummariesByUserIdAfter(@Param("userId") UUID userId,
+                                                       @Param("timestamp") LocalDateTime timestamp,
+                                                       @Param("id") UUID id,
+                                                       Limit limit);
+
+    // Superset of the (user, movie) pairs already reviewed among a batch of imports; the caller matches exact pairs
+    @Query("SELECT r.user.id, r.movie.id FROM Review r WHERE r.user.id IN :userIds AND r.movie.id IN :movieIds")
+    List<Object[]> findUserMoviePairs(@Param("userIds") Collection<UUID> userIds,
+                                      @Param("movieIds") Collection<UUID> movieIds);
+
+    /**
+     * Every review, in no particular order, read through a forward-only cursor {@value #EXPORT_FETCH_SIZE} rows at
+     * a time. Rows are DTOs rather than entities, so nothing accumulates in the persistence context. Must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("""
+        SELECT new com.madetech.soheb.moviereviewsbackend.data.controller.ReviewExport(
+            r.id, r.movie.id, r.user.id, r.rating, r.description, r.timestamp)
+        FROM Review r
+        """)
+    Stream<ReviewExport> streamAllForExport();
+}
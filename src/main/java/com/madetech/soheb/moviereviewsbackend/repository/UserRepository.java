@@ -2,10 +2,14 @@ package com.madetech.soheb.moviereviewsbackend.repository;
 
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,4 +26,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :userIds")
+    List<UUID> findExistingIds(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Swaps in a new password hash, touching no other column, so a rejection committed since the user was loaded
+     * is not written back over. Matches on the old hash too, so it does nothing if the password changed meanwhile.
+     * As a bulk update, it clears the users second-level cache region on commit.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :hash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") UUID id, @Param("hash") String hash, @Param("oldHash") String oldHash);
+}
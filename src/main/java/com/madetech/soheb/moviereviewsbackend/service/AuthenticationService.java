@@ -1,14 +1,15 @@
 package com.madetech.soheb.moviereviewsbackend.service;
 
 import com.github.f4b6a3.uuid.UuidCreator;
+import com.madetech.soheb.moviereviewsbackend.config.AuthenticatedPrincipal;
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserRegistrationRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserLoginRequest;
 import com.madetech.soheb.moviereviewsbackend.data.exceptions.AuthenticationException;
+import com.madetech.soheb.moviereviewsbackend.data.exceptions.HashingCapacityExceededException;
 import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -20,19 +21,16 @@ public class AuthenticationService {
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
-    private final FilmTokenAuthenticationService filmTokenAuthenticationService;
 
     public AuthenticationService(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
-            JwtService jwtService,
-            FilmTokenAuthenticationService filmTokenAuthenticationService) {
+            PasswordHashingService passwordHashingService,
+            JwtService jwtService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtService = jwtService;
-        this.filmTokenAuthenticationService = filmTokenAuthenticationService;
     }
 
 
@@ -50,12 +48,14 @@ public class AuthenticationService {
             user.setId(UuidCreator.getTimeOrderedEpoch());
             user.setUsername(request.getUsername());
             user.setEmail(request.getEmail());
-            user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
             user.setDateOfBirth(request.getDateOfBirth());
             user.setRejected(false);
             user.setCreatedAt(LocalDateTime.now());
 
             return Optional.of(userRepository.save(user));
+        } catch (HashingCapacityExceededException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("ERR_USER_REGISTRATION_FAILED: Failed to register user", e);
             throw new AuthenticationException("ERR_USER_REGISTRATION_FAILED", "User registration failed");
@@ -76,17 +76,39 @@ public class AuthenticationService {
                 return Optional.empty();
             }
 
-            if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+            if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
                 return Optional.empty();
             }
 
+            if (passwordHashingService.upgradeEncoding(user.getPasswordHash())) {
+                rehashPassword(user, request.getPassword());
+            }
+
             return Optional.of(user);
+        } catch (HashingCapacityExceededException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("ERR_USER_AUTHENTICATION_FAILED: Failed to authenticate user", e);
             throw new AuthenticationException("ERR_USER_AUTHENTICATION_FAILED", "User authentication failed");
         }
     }
 
+    /**
+     * Re-encodes a password hash made with older, weaker Argon2 parameters while the plain password is at hand. The
+     * login has already succeeded, so a failure here is logged and the old hash kept until the next login. Only the
+     * hash column is written: saving the whole user would undo an admin rejection committed since it was loaded.
+     */
+    private void rehashPassword(User user, String password) {
+        try {
+            String hash = passwordHashingService.encode(password);
+            if (userRepository.updatePasswordHash(user.getId(), hash, user.getPasswordHash()) > 0) {
+                user.setPasswordHash(hash);
+            }
+        } catch (Exception e) {
+            logger.warn("ERR_PASSWORD_REHASH_FAILED: Failed to upgrade password hash for user {}", user.getId(), e);
+        }
+    }
+
     public String generateJwtToken(User user) {
         try {
             return jwtService.generateToken(user.getId());
@@ -96,32 +118,20 @@ public class AuthenticationService {
         }
     }
 
-    public Optional<User> validateJwtToken(String token) {
-        try {
-            if (!jwtService.isTokenValid(token)) {
-                return Optional.empty();
-            }
-
-            UUID userId = jwtService.extractUserId(token);
-            Optional<User> userOpt = userRepository.findById(userId);
-            
-            if (userOpt.isEmpty() || userOpt.get().isRejected()) {
-                return Optional.empty();
-            }
-
-            return userOpt;
-        } catch (Exception e) {
-            logger.error("ERR_JWT_VALIDATION_FAILED: Failed to validate JWT token", e);
+    /**
+     * Loads the user behind a review user principal. The token was verified by JwtAuthenticationFilter when the
+     * principal was created, so this only checks the user still exists and has not been rejected since.
+     */
+    public Optional<User> resolveUser(AuthenticatedPrincipal principal) {
+        if (principal == null || !principal.isReviewUser()) {
             return Optional.empty();
         }
-    }
-
-    public boolean validateFilmToken(String token) {
         try {
-            return filmTokenAuthenticationService.isValidToken(token);
+            return userRepository.findById(principal.userId())
+                    .filter(user -> !user.isRejected());
         } catch (Exception e) {
-            logger.error("ERR_FILM_TOKEN_VALIDATION_FAILED: Failed to validate film token", e);
-            return false;
+            logger.error("ERR_USER_RESOLUTION_FAILED: Failed to load authenticated user", e);
+            return Optional.empty();
         }
     }
 
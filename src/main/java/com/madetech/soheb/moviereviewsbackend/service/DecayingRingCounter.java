@@ -0,0 +1,81 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free event counter over a sliding window of fixed-width time buckets held in a ring.
+ * <p>
+ * Each slot packs the bucket number it belongs to (high bits) with that bucket's count (low bits) into one long,
+ * so moving a slot on to a new bucket and counting into it is a single compare-and-set. Slots still holding a
+ * bucket that has left the window are simply ignored when reading and overwritten on the next write.
+ */
+public final class DecayingRingCounter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+
+    public DecayingRingCounter(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    public void increment(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        int slot = (int) (bucket % slots.length());
+        while (true) {
+            long current = slots.get(slot);
+            long currentBucket = current >>> COUNT_BITS;
+            long next;
+            if (currentBucket == bucket) {
+                if ((current & COUNT_MASK) == COUNT_MASK) {
+                    return;
+                }
+                next = current + 1;
+            } else if (currentBucket < bucket) {
+                next = (bucket << COUNT_BITS) | 1;
+            } else {
+                // A newer bucket already owns the slot; this event is older than the window can place
+                return;
+            }
+            if (slots.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sums the counts in the window, weighting each bucket by {@code decayPerBucket ^ age}, so recent activity
+     * counts for more than activity near the far edge of the window.
+     *
+     * @param nowMillis      Current time
+     * @param decayPerBucket Weight multiplier per bucket of age, between 0 and 1
+     */
+    public double decayedSum(long nowMillis, double decayPerBucket) {
+        long bucket = nowMillis / bucketMillis;
+        double sum = 0;
+        for (int slot = 0; slot < slots.length(); slot++) {
+            long value = slots.get(slot);
+            long age = bucket - (value >>> COUNT_BITS);
+            if (age >= 0 && age < slots.length()) {
+                sum += (value & COUNT_MASK) * Math.pow(decayPerBucket, age);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return Whether every bucket has left the window, so the counter can be discarded
+     */
+    public boolean isIdle(long nowMillis) {
+        long oldestInWindow = nowMillis / bucketMillis - slots.length() + 1;
+        for (int slot = 0; slot < slots.length(); slot++) {
+            if ((slots.get(slot) >>> COUNT_BITS) >= oldestInWindow) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
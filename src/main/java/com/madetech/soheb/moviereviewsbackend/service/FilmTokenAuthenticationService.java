@@ -22,10 +22,12 @@ public class FilmTokenAuthenticationService {
     
     private static final Logger logger = LoggerFactory.getLogger(FilmTokenAuthenticationService.class);
     private static final String AUTH_FILE_PATH = "auth.json";
+    private static final String ADMIN_ROLE = "admin";
     
     private final ObjectMapper objectMapper;
     private final TokenGenerationService tokenGenerationService;
     private Set<String> validTokens;
+    private Set<String> adminTokens;
     
     public FilmTokenAuthenticationService(ObjectMapper objectMapper, TokenGenerationService tokenGenerationService) {
         this.objectMapper = objectMapper;
@@ -39,6 +41,7 @@ public class FilmTokenAuthenticationService {
             if (!resource.exists()) {
                 logger.warn("Auth file not found: {}. Film token authentication will not work.", AUTH_FILE_PATH);
                 this.validTokens = Set.of();
+                this.adminTokens = Set.of();
                 return;
             }
             
@@ -61,7 +64,15 @@ public class FilmTokenAuthenticationService {
                     })
                     .collect(Collectors.toSet());
                 
-                logger.info("Loaded {} valid film submission tokens from {}", validTokens.size(), AUTH_FILE_PATH);
+                // Entries marked "role": "admin" may also use the admin endpoints, such as the bulk review import
+                this.adminTokens = authData.stream()
+                    .filter(entry -> ADMIN_ROLE.equals(entry.get("role")))
+                    .map(entry -> entry.get("token"))
+                    .filter(validTokens::contains)
+                    .collect(Collectors.toSet());
+                
+                logger.info("Loaded {} valid film submission tokens ({} admin) from {}",
+                    validTokens.size(), adminTokens.size(), AUTH_FILE_PATH);
             }
         } catch (IOException e) {
             logger.error("Failed to load authentication tokens from {}", AUTH_FILE_PATH, e);
@@ -82,6 +93,14 @@ public class FilmTokenAuthenticationService {
         return isValid;
     }
     
+    public boolean isAdminToken(String token) {
+        if (!StringUtils.hasText(token)) {
+            return false;
+        }
+        
+        return adminTokens.contains(token.trim());
+    }
+    
     public int getValidTokenCount() {
         return validTokens.size();
     }
@@ -0,0 +1,135 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.config.JwtProperties;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The keys JwtService signs and verifies with. New tokens are signed with the one signing key and carry its key id
+ * in the {@code kid} header; a token is verified with whichever active key its {@code kid} names, and only if its
+ * {@code alg} header is the one that key is configured for.
+ * <p>
+ * Rotation without downtime: add the new public key to verification-keys on every instance, then make it the signing
+ * key, and drop the old public key once the last token signed with it has expired.
+ */
+class JwtKeyring extends LocatorAdapter<Key> {
+
+    private static final int KEY_ID_BYTES = 8;
+
+    private final String signingKeyId;
+    private final SignatureAlgorithm signingAlgorithm;
+    private final PrivateKey signingKey;
+    private final Map<String, VerificationKey> verificationKeys = new LinkedHashMap<>();
+    // Tokens issued before key ids were added have no kid, and were all signed with the original RS512 key
+    private final VerificationKey legacyKey;
+
+    JwtKeyring(JwtProperties properties) throws GeneralSecurityException {
+        this.signingAlgorithm = algorithm(properties.getAlgorithm());
+        this.signingKey = KeyFactory.getInstance(keyFactoryAlgorithm(properties.getAlgorithm()))
+                .generatePrivate(new PKCS8EncodedKeySpec(decode(properties.getPrivatekey())));
+        PublicKey publicKey = loadPublicKey(properties.getAlgorithm(), properties.getPublickey());
+        this.signingKeyId = properties.getKeyId() != null ? properties.getKeyId() : keyId(publicKey);
+        add(new VerificationKey(signingKeyId, properties.getAlgorithm(), publicKey));
+
+        for (JwtProperties.VerificationKey configured : properties.getVerificationKeys()) {
+            PublicKey key = loadPublicKey(configured.getAlgorithm(), configured.getPublickey());
+            add(new VerificationKey(configured.getKeyId() != null ? configured.getKeyId() : keyId(key),
+                    configured.getAlgorithm(), key));
+        }
+
+        this.legacyKey = verificationKeys.values().stream()
+                .filter(key -> Jwts.SIG.RS512.getId().equals(key.algorithm()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    String signingKeyId() {
+        return signingKeyId;
+    }
+
+    SignatureAlgorithm signingAlgorithm() {
+        return signingAlgorithm;
+    }
+
+    PrivateKey signingKey() {
+        return signingKey;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        VerificationKey key = header.getKeyId() != null ? verificationKeys.get(header.getKeyId()) : legacyKey;
+        if (key == null) {
+            throw new UnsupportedJwtException("No active key for key id " + header.getKeyId());
+        }
+        // The algorithm is fixed per key, never taken from the token, so a token cannot pick a weaker one
+        if (!key.algorithm().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Key " + key.keyId() + " does not sign with " + header.getAlgorithm());
+        }
+        return key.publicKey();
+    }
+
+    private void add(VerificationKey key) {
+        algorithm(key.algorithm());
+        if (verificationKeys.putIfAbsent(key.keyId(), key) != null) {
+            throw new IllegalStateException("Duplicate JWT key id: " + key.keyId());
+        }
+    }
+
+    private static SignatureAlgorithm algorithm(String name) {
+        return switch (name) {
+            case "RS512" -> Jwts.SIG.RS512;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "EdDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalStateException("Unsupported JWT algorithm: " + name);
+        };
+    }
+
+    private static String keyFactoryAlgorithm(String name) {
+        return switch (name) {
+            case "RS512" -> "RSA";
+            case "ES256" -> "EC";
+            case "EdDSA" -> "Ed25519";
+            default -> throw new IllegalStateException("Unsupported JWT algorithm: " + name);
+        };
+    }
+
+    private static PublicKey loadPublicKey(String algorithm, String encoded) throws GeneralSecurityException {
+        return KeyFactory.getInstance(keyFactoryAlgorithm(algorithm))
+                .generatePublic(new X509EncodedKeySpec(decode(encoded)));
+    }
+
+    private static byte[] decode(String encoded) {
+        // Remove PEM headers, footers, and all whitespace
+        return Base64.getDecoder().decode(encoded
+                .replaceAll("-----BEGIN[A-Z0-9\\s]+-----", "")
+                .replaceAll("-----END[A-Z0-9\\s]+-----", "")
+                .replaceAll("\\s", ""));
+    }
+
+    /**
+     * Derives a stable key id from the public key, so keys need no configured id.
+     */
+    private static String keyId(PublicKey key) throws GeneralSecurityException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, KEY_ID_BYTES));
+    }
+
+    private record VerificationKey(String keyId, String algorithm, PublicKey publicKey) {
+    }
+}
@@ -1,42 +1,66 @@
 package com.madetech.soheb.moviereviewsbackend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.madetech.soheb.moviereviewsbackend.config.JwtProperties;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.security.KeyFactory;
-import java.security.PrivateKey;
-import java.security.PublicKey;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
 
+/**
+ * Issues and verifies the review-user tokens, using the keys in {@link JwtKeyring}. Verified tokens are remembered,
+ * keyed by a SHA-256 hash of the token, until they expire, so a client sending the same token on every request pays
+ * for signature verification once. Only successful verifications are cached; a token that fails is verified again
+ * (and fails again) each time. Cache hits and misses are published as the jwt.claims cache.* meters.
+ */
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
     private static final int JWT_EXPIRY_DAYS = 30;
+    private static final String CLAIMS_CACHE_NAME = "jwt.claims";
     
-    private final JwtProperties jwtProperties;
-    private final PrivateKey privateKey;
-    private final PublicKey publicKey;
+    private final JwtKeyring keyring;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
     
-    public JwtService(JwtProperties jwtProperties) {
-        this.jwtProperties = jwtProperties;
+    public JwtService(JwtProperties jwtProperties,
+                      @Value("${moviereviews.auth.review.claims-cache.max-entries:10000}") long claimsCacheMaxEntries) {
         try {
-            this.privateKey = loadPrivateKey();
-            this.publicKey = loadPublicKey();
+            this.keyring = new JwtKeyring(jwtProperties);
         } catch (Exception e) {
             logger.error("Failed to load JWT keys", e);
             throw new IllegalStateException("Failed to load JWT keys: " + e.getMessage(), e);
         }
+        this.parser = Jwts.parser().keyLocator(keyring).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxEntries)
+                .expireAfter(Expiry.creating((String tokenHash, VerifiedToken verified) ->
+                        Duration.between(Instant.now(), verified.expiresAt())))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, CLAIMS_CACHE_NAME);
     }
     
     public String generateToken(UUID userId) {
@@ -48,10 +72,11 @@ public class JwtService {
                 .toInstant());
             
             return Jwts.builder()
+                    .header().keyId(keyring.signingKeyId()).and()
                     .subject(userId.toString())
                     .issuedAt(issuedAt)
                     .expiration(expiry)
-                    .signWith(privateKey, Jwts.SIG.RS512)
+                    .signWith(keyring.signingKey(), keyring.signingAlgorithm())
                     .compact();
         } catch (Exception e) {
             logger.error("Failed to generate JWT token for user: {}", userId, e);
@@ -61,13 +86,7 @@ public class JwtService {
     
     public UUID extractUserId(String token) {
         try {
-            Claims claims = Jwts.parser()
-                .verifyWith(publicKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-            
-            return UUID.fromString(claims.getSubject());
+            return verify(token).userId();
         } catch (ExpiredJwtException e) {
             logger.debug("JWT token expired for token: {}", token.substring(0, Math.min(token.length(), 20)) + "...");
             throw new RuntimeException("JWT token expired", e);
@@ -82,10 +101,7 @@ public class JwtService {
     
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(publicKey)
-                .build()
-                .parseSignedClaims(token);
+            verify(token);
             return true;
         } catch (JwtException e) {
             logger.debug("Invalid JWT token: {}", e.getMessage());
@@ -96,35 +112,33 @@ public class JwtService {
         }
     }
 
-    private PrivateKey loadPrivateKey() throws Exception {
-        String privateKeyContent = jwtProperties.getPrivatekey();
-
-        // Remove PEM headers, footers, and all whitespace
-        privateKeyContent = privateKeyContent
-                .replaceAll("-----BEGIN[A-Z0-9\\s]+-----", "")
-                .replaceAll("-----END[A-Z0-9\\s]+-----", "")
-                .replaceAll("\\s", "");
-
-        byte[] keyBytes = Base64.getDecoder().decode(privateKeyContent);
-        PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+    private VerifiedToken verify(String token) {
+        String tokenHash = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
 
-        return keyFactory.generatePrivate(keySpec);
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        UUID userId = UUID.fromString(claims.getSubject());
+        // Every token this service issues has an expiry; one without would otherwise never leave the cache
+        if (claims.getExpiration() == null) {
+            return new VerifiedToken(userId, Instant.now());
+        }
+        VerifiedToken verified = new VerifiedToken(userId, claims.getExpiration().toInstant());
+        verifiedTokens.put(tokenHash, verified);
+        return verified;
     }
 
-    private PublicKey loadPublicKey() throws Exception {
-        String publicKeyContent = jwtProperties.getPublickey();
-
-        // Remove PEM headers, footers, and all whitespace
-        publicKeyContent = publicKeyContent
-                .replaceAll("-----BEGIN[A-Z0-9\\s]+-----", "")
-                .replaceAll("-----END[A-Z0-9\\s]+-----", "")
-                .replaceAll("\\s", "");
-
-        byte[] keyBytes = Base64.getDecoder().decode(publicKeyContent);
-        X509EncodedKeySpec keySpec = new X509EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 
-        return keyFactory.generatePublic(keySpec);
+    private record VerifiedToken(UUID userId, Instant expiresAt) {
     }
 }
\ No newline at end of file
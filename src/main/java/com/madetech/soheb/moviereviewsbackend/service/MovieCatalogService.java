@@ -0,0 +1,372 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madetech.soheb.moviereviewsbackend.data.controller.JsonPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFacetCounts;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFilter;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
+import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.data.database.MovieRatingStats;
+import com.madetech.soheb.moviereviewsbackend.data.events.MovieSubmittedEvent;
+import com.madetech.soheb.moviereviewsbackend.data.events.MoviesSubmittedEvent;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewsImportedEvent;
+import com.madetech.soheb.moviereviewsbackend.data.exceptions.MovieServiceException;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRatingStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Serves the movie listing from an in-memory {@link MovieCatalogSnapshot} so GET /v1/movies never touches the
+ * database. The snapshot is loaded on first use, patched after each committed movie or review submission and
+ * fully reconciled with the database on a fixed interval to pick up writes made by other instances.
+ * A {@link MovieSearchIndex} and a {@link MovieLeaderboard} over the snapshot's ordinals are updated alongside
+ * every snapshot change.
+ * <p>
+ * Everything the snapshot is built from is read from the primary. The snapshot is shared by every client, so a
+ * replica that has not yet replayed a write would otherwise publish stale aggregates to all of them.
+ */
+@Slf4j
+@Service
+public class MovieCatalogService {
+
+    private final MovieService movieService;
+    private final MovieRatingStatsRepository movieRatingStatsRepository;
+    private final ObjectMapper objectMapper;
+    private final RatingHistogramStore ratingHistogramStore;
+    private final TransactionOperations primaryReads;
+    private final AtomicReference<MovieCatalogSnapshot> snapshot = new AtomicReference<>();
+    private final MovieSearchIndex searchIndex = new MovieSearchIndex();
+    private final MovieLeaderboard leaderboard;
+    private final Object writeLock = new Object();
+
+    public MovieCatalogService(MovieService movieService,
+                               MovieRatingStatsRepository movieRatingStatsRepository,
+                               ObjectMapper objectMapper,
+                               RatingHistogramStore ratingHistogramStore,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${moviereviews.leaderboard.prior-mean:5.0}") double priorMean,
+                               @Value("${moviereviews.leaderboard.prior-weight:10}") double priorWeight) {
+        this.movieService = movieService;
+        this.movieRatingStatsRepository = movieRatingStatsRepository;
+        this.objectMapper = objectMapper;
+        this.ratingHistogramStore = ratingHistogramStore;
+        // A new read-write transaction is always routed to the primary, even when called after another
+        // transaction has committed or from inside a read-only one
+        TransactionTemplate primaryReads = new TransactionTemplate(transactionManager);
+        primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryReads = primaryReads;
+        this.leaderboard = new MovieLeaderboard(priorMean, priorWeight);
+    }
+
+    public JsonPage getPage(int limit, PageCursor after, MovieFilter filter) {
+        return executeWithErrorHandling(
+                () -> currentSnapshot().page(limit, after, filter),
+                "ERR_CATALOG_PAGE_FAILED: Failed to read page from movie catalog"
+        );
+    }
+
+    public MovieFacetCounts getFacetCounts(MovieFilter filter) {
+        return executeWithErrorHandling(
+                () -> currentSnapshot().facetCounts(filter),
+                "ERR_CATALOG_FACETS_FAILED: Failed to count movie catalog facets"
+        );
+    }
+
+    /**
+     * @return Version of the current snapshot; it only changes when the listing content changes
+     */
+    public long getVersion() {
+        return executeWithErrorHandling(
+                () -> currentSnapshot().getVersion(),
+                "ERR_CATALOG_VERSION_FAILED: Failed to read movie catalog version"
+        );
+    }
+
+    /**
+     * @param query Free text matched against name, cast, directors, writers and producers
+     * @param limit Maximum number of movies to return
+     * @return JSON array of matching movies, newest first
+     */
+    public byte[] search(String query, int limit) {
+        return executeWithErrorHandling(
+                () -> {
+                    // Resolve against the snapshot read first, so newer ordinals in the index are ignored
+                    MovieCatalogSnapshot current = currentSnapshot();
+                    return current.json(searchIndex.search(query), limit);
+                },
+                "ERR_CATALOG_SEARCH_FAILED: Failed to search movie catalog"
+        );
+    }
+
+    /**
+     * @param genre Genre to rank within, or null for the whole catalog
+     * @param limit Maximum number of movies to return
+     * @return JSON array of the highest rated movies by Bayesian average, best first
+     */
+    public byte[] getTopRated(String genre, int limit) {
+        return executeWithErrorHandling(
+                () -> {
+                    MovieCatalogSnapshot current = currentSnapshot();
+                    return current.json(leaderboard.top(genre, limit));
+                },
+                "ERR_CATALOG_TOP_RATED_FAILED: Failed to read top rated movies"
+        );
+    }
+
+    /**
+     * @param movieIds Movies to encode, in the order they should appear
+     * @return JSON array of those movies that are in the catalog, in the given order
+     */
+    public byte[] getMovies(List<UUID> movieIds) {
+        return executeWithErrorHandling(
+                () -> {
+                    MovieCatalogSnapshot current = currentSnapshot();
+                    return current.json(movieIds.stream().mapToInt(current::ordinalOf).toArray());
+                },
+                "ERR_CATALOG_MOVIES_FAILED: Failed to read movies from catalog"
+        );
+    }
+
+    public MovieCatalogSnapshot currentSnapshot() {
+        MovieCatalogSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (writeLock) {
+            current = snapshot.get();
+            if (current == null) {
+                List<MovieWithRating> movies = primaryReads.execute(status ->
+                        withHistograms(movieService.getAllMoviesWithRating()));
+                current = publish(movies, encodeAll(movies));
+                log.info("Loaded movie catalog snapshot with {} movies", current.size());
+            }
+            return current;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            currentSnapshot();
+        } catch (RuntimeException e) {
+            log.error("ERR_CATALOG_WARM_UP_FAILED: Failed to load movie catalog at startup, will retry on first request", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${moviereviews.catalog.refresh-interval:PT5M}",
+               initialDelayString = "${moviereviews.catalog.refresh-interval:PT5M}")
+    public void refresh() {
+        if (snapshot.get() == null) {
+            return;
+        }
+
+        try {
+            // Read outside the lock so submissions are not blocked behind a full catalog scan
+            MovieCatalogSnapshot before = snapshot.get();
+            List<MovieWithRating> movies = primaryReads.execute(status -> {
+                // Histograms counted by other instances only reach this one through the table
+                ratingHistogramStore.reload();
+                return withHistograms(movieService.getAllMoviesWithRating());
+            });
+            // Only re-encode what changed, so an idle catalog keeps its version (and its ETags)
+            List<MovieWithRating> changed = movies.stream()
+                    .filter(movie -> !before.find(movie.getId()).map(movie::equals).orElse(false))
+                    .toList();
+            List<byte[]> encoded = encodeAll(changed);
+            synchronized (writeLock) {
+                // A movie patched while the reload ran already holds a commit at least as new as the reload saw,
+                // so keep the patch rather than putting the older database image (and a new version) over it
+                MovieCatalogSnapshot current = snapshot.get();
+                List<MovieWithRating> unpatched = new ArrayList<>();
+                List<byte[]> unpatchedEncoded = new ArrayList<>();
+                for (int i = 0; i < changed.size(); i++) {
+                    UUID movieId = changed.get(i).getId();
+                    if (current.find(movieId).orElse(null) == before.find(movieId).orElse(null)) {
+                        unpatched.add(changed.get(i));
+                        unpatchedEncoded.add(encoded.get(i));
+                    }
+                }
+                publish(unpatched, unpatchedEncoded);
+            }
+        } catch (RuntimeException e) {
+            log.error("ERR_CATALOG_REFRESH_FAILED: Failed to refresh movie catalog snapshot", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieSubmitted(MovieSubmittedEvent event) {
+        applyUpdate(toNewCatalogEntry(event.getMovie()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoviesSubmitted(MoviesSubmittedEvent event) {
+        // One snapshot copy for the whole batch rather than one per movie
+        applyUpdates(event.getMovies().stream()
+                .map(this::toNewCatalogEntry)
+                .toList());
+    }
+
+    private MovieWithRating toNewCatalogEntry(Movie movie) {
+        MovieWithRating movieWithRating = new MovieWithRating(
+                movie.getId(),
+                movie.getName(),
+                copyOf(movie.getGenres()),
+                copyOf(movie.getDirectors()),
+                copyOf(movie.getWriters()),
+                copyOf(movie.getCast()),
+                copyOf(movie.getProducers()),
+                movie.getReleaseYear(),
+                movie.getAgeRating(),
+                movie.getCreatedAt(),
+                (Double) null
+        );
+        movieWithRating.setRatingHistogram(new long[RatingHistogramStore.BUCKETS]);
+        return movieWithRating;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        MovieCatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+
+        try {
+            Optional<MovieWithRating> existing = current.find(event.getMovieId());
+            Optional<MovieRatingStats> stats = primaryReads.execute(status ->
+                    movieRatingStatsRepository.findById(event.getMovieId()));
+            if (existing.isEmpty() || stats.isEmpty()) {
+                return;
+            }
+
+            applyUpdate(withStats(existing.get(), stats.get()));
+        } catch (RuntimeException e) {
+            // The write has already committed; the periodic refresh will repair the snapshot
+            log.error("ERR_CATALOG_UPDATE_FAILED: Failed to apply review to movie catalog snapshot", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewsImported(ReviewsImportedEvent event) {
+        MovieCatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+
+        try {
+            // One query and one snapshot copy for the whole imported batch
+            List<MovieRatingStats> importedStats = primaryReads.execute(status ->
+                    movieRatingStatsRepository.findAllById(event.getRatingCounts().keySet()));
+            List<MovieWithRating> updated = importedStats.stream()
+                    .flatMap(stats -> current.find(stats.getMovieId()).map(movie -> withStats(movie, stats)).stream())
+                    .toList();
+            applyUpdates(updated);
+        } catch (RuntimeException e) {
+            // The write has already committed; the periodic refresh will repair the snapshot
+            log.error("ERR_CATALOG_UPDATE_FAILED: Failed to apply imported reviews to movie catalog snapshot", e);
+        }
+    }
+
+    private MovieWithRating withStats(MovieWithRating movie, MovieRatingStats stats) {
+        MovieWithRating updated = new MovieWithRating(
+                movie.getId(),
+                movie.getName(),
+                movie.getGenres(),
+                movie.getDirectors(),
+                movie.getWriters(),
+                movie.getCast(),
+                movie.getProducers(),
+                movie.getReleaseYear(),
+                movie.getAgeRating(),
+                movie.getCreatedAt(),
+                stats.getAverageRating(),
+                stats.getRatingCount()
+        );
+        updated.setRatingHistogram(ratingHistogramStore.histogram(movie.getId()));
+        return updated;
+    }
+
+    private void applyUpdate(MovieWithRating movie) {
+        applyUpdates(List.of(movie));
+    }
+
+    private void applyUpdates(List<MovieWithRating> movies) {
+        try {
+            List<byte[]> encoded = encodeAll(movies);
+            synchronized (writeLock) {
+                MovieCatalogSnapshot current = snapshot.get();
+                // Until the first load there is nothing to patch; the load itself will read this write
+                if (current != null) {
+                    publish(movies, encoded);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("ERR_CATALOG_UPDATE_FAILED: Failed to apply movie to catalog snapshot", e);
+        }
+    }
+
+    // Caller must hold writeLock. Index first: readers ignore ordinals beyond the snapshot they hold
+    private MovieCatalogSnapshot publish(List<MovieWithRating> movies, List<byte[]> encoded) {
+        MovieCatalogSnapshot before = snapshot.get() != null ? snapshot.get() : MovieCatalogSnapshot.empty();
+        MovieCatalogSnapshot next = before.withMovies(movies, encoded);
+        for (MovieWithRating movie : movies) {
+            int ordinal = next.ordinalOf(movie.getId());
+            searchIndex.index(ordinal, before.find(movie.getId()).orElse(null), movie);
+            leaderboard.update(ordinal, movie);
+        }
+        snapshot.set(next);
+        return next;
+    }
+
+    private List<MovieWithRating> withHistograms(List<MovieWithRating> movies) {
+        movies.forEach(movie -> movie.setRatingHistogram(ratingHistogramStore.histogram(movie.getId())));
+        return movies;
+    }
+
+    // Detach from Hibernate collection wrappers, which only compare equal to themselves
+    private List<String> copyOf(List<String> credits) {
+        return credits != null ? List.copyOf(credits) : List.of();
+    }
+
+    private List<byte[]> encodeAll(List<MovieWithRating> movies) {
+        return movies.stream().map(this::encode).toList();
+    }
+
+    private byte[] encode(MovieWithRating movie) {
+        try {
+            return objectMapper.writeValueAsBytes(movie);
+        } catch (JsonProcessingException e) {
+            throw new MovieServiceException("ERR_CATALOG_ENCODING_FAILED", "catalog encoding failed", e);
+        }
+    }
+
+    private <T> T executeWithErrorHandling(Supplier<T> operation, String errorMessage) {
+        try {
+            return operation.get();
+        } catch (Exception e) {
+            log.error(errorMessage, e);
+            String errorCode = errorMessage.split(":")[0];
+            throw new MovieServiceException(errorCode, errorCode.replace("ERR_", "").replace("_", " ").toLowerCase(), e);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.controller.JsonPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFacetCounts;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFilter;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of the movie catalog with every movie pre-encoded as JSON.
+ * <p>
+ * Each movie is given a stable ordinal the first time it is seen; ordinals are never reused or reassigned,
+ * so other in-memory indexes can refer to movies by ordinal across snapshot versions. Updates never mutate
+ * a published snapshot: they copy the arrays they change and return a new snapshot.
+ */
+public final class MovieCatalogSnapshot {
+
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+    private final MovieWithRating[] movies;
+    private final byte[][] json;
+    // Ordinals sorted oldest first, the reverse of listing order (createdAt DESC, id DESC), so a movie's index here
+    // (its rank) does not move when newer movies are added
+    private final int[] order;
+    // Inverse of order: the rank of each ordinal
+    private final int[] ranks;
+    // Append-only and shared between versions; readers must ignore ordinals beyond their own size
+    private final Map<UUID, Integer> ordinals;
+    // Indexed by rank, so a filtered page is read off backwards from the cursor
+    private final MovieFacets facets;
+    private final long version;
+
+    private MovieCatalogSnapshot(MovieWithRating[] movies, byte[][] json, int[] order, int[] ranks,
+                                 Map<UUID, Integer> ordinals, MovieFacets facets, long version) {
+        this.movies = movies;
+        this.json = json;
+        this.order = order;
+        this.ranks = ranks;
+        this.ordinals = ordinals;
+        this.facets = facets;
+        this.version = version;
+    }
+
+    public static MovieCatalogSnapshot empty() {
+        return new MovieCatalogSnapshot(new MovieWithRating[0], new byte[0][], new int[0], new int[0],
+                new ConcurrentHashMap<>(), MovieFacets.empty(), 0L);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return movies.length;
+    }
+
+    public MovieWithRating movie(int ordinal) {
+        return movies[ordinal];
+    }
+
+    public byte[] json(int ordinal) {
+        return json[ordinal];
+    }
+
+    /**
+     * @return The ordinal of the movie, or -1 if it is not part of this snapshot
+     */
+    public int ordinalOf(UUID movieId) {
+        Integer ordinal = ordinals.get(movieId);
+        return ordinal != null && ordinal < movies.length ? ordinal : -1;
+    }
+
+    public Optional<MovieWithRating> find(UUID movieId) {
+        int ordinal = ordinalOf(movieId);
+        return ordinal >= 0 ? Optional.of(movies[ordinal]) : Optional.empty();
+    }
+
+    /**
+     * Returns a snapshot with the given movies inserted or replaced. Existing movies keep their ordinal and
+     * rank (createdAt never changes), new movies are appended and merged into the listing order.
+     * Must only be called on the latest snapshot, by one writer at a time.
+     *
+     * @param updates  Movies to insert or replace
+     * @param encoded  JSON encoding of each movie, in the same order as {@code updates}
+     * @return The new snapshot, or this snapshot if there are no updates
+     */
+    public MovieCatalogSnapshot withMovies(List<MovieWithRating> updates, List<byte[]> encoded) {
+        if (updates.isEmpty()) {
+            return this;
+        }
+
+        Map<UUID, Integer> pending = new HashMap<>();
+        int newSize = movies.length;
+        for (MovieWithRating movie : updates) {
+            if (!ordinals.containsKey(movie.getId()) && !pending.containsKey(movie.getId())) {
+                pending.put(movie.getId(), newSize++);
+            }
+        }
+
+        MovieWithRating[] newMovies = Arrays.copyOf(movies, newSize);
+        byte[][] newJson = Arrays.copyOf(json, newSize);
+        MovieFacets.Editor editedFacets = facets.edit();
+
+        for (int i = 0; i < updates.size(); i++) {
+            MovieWithRating movie = updates.get(i);
+            Integer ordinal = ordinals.get(movie.getId());
+            int target = ordinal != null ? ordinal : pending.get(movie.getId());
+            if (ordinal != null) {
+                editedFacets.replace(ranks[target], newMovies[target], movie);
+            }
+            newMovies[target] = movie;
+            newJson[target] = encoded.get(i);
+        }
+
+        List<Integer> appended = new ArrayList<>(pending.values());
+        Comparator<Integer> rankOrder = (a, b) -> compareListingOrder(
+                newMovies[b].getCreatedAt(), newMovies[b].getId(),
+                newMovies[a].getCreatedAt(), newMovies[a].getId());
+        appended.sort(rankOrder);
+
+        int[] newOrder = order;
+        int[] newRanks = ranks;
+        MovieFacets newFacets;
+        if (appended.isEmpty()) {
+            newFacets = editedFacets.build();
+        } else if (order.length == 0 || rankOrder.compare(order[order.length - 1], appended.get(0)) < 0) {
+            // Newly submitted movies are newer than everything already listed, so they take the next ranks and
+            // each sets one bit per facet value
+            newOrder = Arrays.copyOf(order, newSize);
+            newRanks = Arrays.copyOf(ranks, newSize);
+            for (int i = 0; i < appended.size(); i++) {
+                int ordinal = appended.get(i);
+                int rank = order.length + i;
+                newOrder[rank] = ordinal;
+                newRanks[ordinal] = rank;
+                editedFacets.replace(rank, null, newMovies[ordinal]);
+            }
+            newFacets = editedFacets.build();
+        } else {
+            newOrder = mergeOrder(appended, rankOrder);
+            newRanks = new int[newOrder.length];
+            for (int rank = 0; rank < newOrder.length; rank++) {
+                newRanks[newOrder[rank]] = rank;
+            }
+            newFacets = indexFacets(newMovies, newOrder);
+        }
+
+        // Publish ordinals only once the arrays that back them exist
+        for (int ordinal : appended) {
+            ordinals.put(newMovies[ordinal].getId(), ordinal);
+        }
+
+        return new MovieCatalogSnapshot(newMovies, newJson, newOrder, newRanks, ordinals, newFacets, version + 1);
+    }
+
+    // A movie older than the newest one (a backfill or import) shifts the rank of every newer movie, so the facets
+    // are rebuilt rather than edited
+    private static MovieFacets indexFacets(MovieWithRating[] movies, int[] order) {
+        MovieFacets.Editor editor = MovieFacets.empty().edit();
+        for (int rank = 0; rank < order.length; rank++) {
+            editor.replace(rank, null, movies[order[rank]]);
+        }
+        return editor.build();
+    }
+
+    private int[] mergeOrder(List<Integer> appended, Comparator<Integer> rankOrder) {
+        int[] merged = new int[order.length + appended.size()];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < order.length && j < appended.size()) {
+            merged[k++] = rankOrder.compare(order[i], appended.get(j)) <= 0 ? order[i++] : appended.get(j++);
+        }
+        while (i < order.length) {
+            merged[k++] = order[i++];
+        }
+        while (j < appended.size()) {
+            merged[k++] = appended.get(j++);
+        }
+        return merged;
+    }
+
+    /**
+     * Encodes one page of the listing, newest first, by concatenating the pre-encoded movies.
+     *
+     * @param limit Maximum number of movies to include
+     * @param after Cursor of the last movie on the previous page, or null for the first page
+     * @return The JSON array body and the cursor for the next page, if there is one
+     */
+    public JsonPage page(int limit, PageCursor after) {
+        return page(limit, after, MovieFilter.none());
+    }
+
+    /**
+     * Encodes one page of the movies matching the filter, newest first. The cursor works the same as for the
+     * unfiltered listing, so a filtered walk can be resumed from any movie.
+     *
+     * @param limit  Maximum number of movies to include
+     * @param after  Cursor of the last movie on the previous page, or null for the first page
+     * @param filter Facet filter to apply
+     * @return The JSON array body and the cursor for the next page, if there is one
+     */
+    public JsonPage page(int limit, PageCursor after, MovieFilter filter) {
+        if (filter.isUnfiltered()) {
+            return unfilteredPage(limit, after);
+        }
+
+        // Only the matches from the cursor onwards are visited, one more than the page to tell whether it is the last
+        BitSet matching = facets.match(filter, order.length);
+        int[] selected = new int[limit];
+        int count = 0;
+        int rank = matching.previousSetBit(order.length - 1 - (after == null ? 0 : firstAfter(after)));
+        while (rank >= 0 && count < limit) {
+            selected[count++] = order[rank];
+            rank = matching.previousSetBit(rank - 1);
+        }
+
+        PageCursor nextCursor = null;
+        if (rank >= 0) {
+            MovieWithRating last = movies[selected[count - 1]];
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId());
+        }
+        return new JsonPage(concat(selected, 0, count), nextCursor);
+    }
+
+    /**
+     * @param filter Facet filter currently applied
+     * @return Matching total and per-value counts for each facet
+     */
+    public MovieFacetCounts facetCounts(MovieFilter filter) {
+        return facets.counts(filter, movies.length);
+    }
+
+    private JsonPage unfilteredPage(int limit, PageCursor after) {
+        int start = after == null ? 0 : firstAfter(after);
+        int end = Math.min(start + limit, order.length);
+        int[] selected = new int[Math.max(end - start, 0)];
+        for (int i = 0; i < selected.length; i++) {
+            selected[i] = atPosition(start + i);
+        }
+
+        byte[] body = concat(selected, 0, selected.length);
+
+        PageCursor nextCursor = null;
+        if (end < order.length) {
+            MovieWithRating last = movies[atPosition(end - 1)];
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId());
+        }
+        return new JsonPage(body, nextCursor);
+    }
+
+    /**
+     * Encodes the given movies as a JSON array in listing order, newest first.
+     *
+     * @param candidates Ordinals to include; ordinals not part of this snapshot are skipped
+     * @param limit      Maximum number of movies to include
+     */
+    public byte[] json(int[] candidates, int limit) {
+        int[] selected = Arrays.stream(candidates)
+                .filter(ordinal -> ordinal >= 0 && ordinal < movies.length)
+                .boxed()
+                .sorted((a, b) -> compareListingOrder(
+                        movies[a].getCreatedAt(), movies[a].getId(),
+                        movies[b].getCreatedAt(), movies[b].getId()))
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return concat(selected, 0, selected.length);
+    }
+
+    /**
+     * Encodes the given movies as a JSON array in the order given.
+     *
+     * @param ordinals Ordinals to include; ordinals not part of this snapshot are skipped
+     */
+    public byte[] json(int[] ordinals) {
+        int[] known = Arrays.stream(ordinals)
+                .filter(ordinal -> ordinal >= 0 && ordinal < movies.length)
+                .toArray();
+        return concat(known, 0, known.length);
+    }
+
+    private byte[] concat(int[] ordinals, int start, int end) {
+        if (start >= end) {
+            return EMPTY_ARRAY.clone();
+        }
+
+        int length = 2 + (end - start - 1);
+        for (int i = start; i < end; i++) {
+            length += json[ordinals[i]].length;
+        }
+
+        byte[] body = new byte[length];
+        int position = 0;
+        body[position++] = '[';
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                body[position++] = ',';
+            }
+            byte[] movieJson = json[ordinals[i]];
+            System.arraycopy(movieJson, 0, body, position, movieJson.length);
+            position += movieJson.length;
+        }
+        body[position] = ']';
+        return body;
+    }
+
+    // The ordinal at a listing position, counted from the newest movie
+    private int atPosition(int position) {
+        return order[order.length - 1 - position];
+    }
+
+    // Binary search for the first listing position that sorts strictly after the cursor
+    private int firstAfter(PageCursor cursor) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            MovieWithRating movie = movies[atPosition(mid)];
+            if (compareListingOrder(movie.getCreatedAt(), movie.getId(), cursor.getTimestamp(), cursor.getId()) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares two rows by listing order (createdAt DESC, id DESC). UUIDs are compared as unsigned bytes to
+     * match how the database orders the uuid column.
+     */
+    static int compareListingOrder(LocalDateTime createdAtA, UUID idA, LocalDateTime createdAtB, UUID idB) {
+        int byCreatedAt = createdAtB.compareTo(createdAtA);
+        if (byCreatedAt != 0) {
+            return byCreatedAt;
+        }
+        int byHigh = Long.compareUnsigned(idB.getMostSignificantBits(), idA.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(idB.getLeastSignificantBits(), idA.getLeastSignificantBits());
+    }
+}
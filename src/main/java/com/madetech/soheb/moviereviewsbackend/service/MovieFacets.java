@@ -0,0 +1,211 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFacetCounts;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFilter;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Bitmap indexes over {@link MovieCatalogSnapshot} ranks, one bitmap per genre, age rating and release year. A rank
+ * is a movie's listing position counted from the oldest movie, so new movies set bits past the end. Filters and facet
+ * counts are ANDs, ORs and cardinalities of these bitmaps. Ranks are dense, so a plain {@link BitSet} stays compact:
+ * one bit per movie per value, and the set bits of a match read backwards are already in listing order.
+ * <p>
+ * Immutable once built. {@link #edit()} copies only the maps, and an editor clones a bitmap the first time it
+ * changes it, so an update costs the bitmaps it touches rather than the whole index.
+ */
+public final class MovieFacets {
+
+    private final Map<String, BitSet> genres;
+    private final Map<AgeRating, BitSet> ageRatings;
+    private final NavigableMap<Integer, BitSet> releaseYears;
+
+    private MovieFacets(Map<String, BitSet> genres, Map<AgeRating, BitSet> ageRatings,
+                        NavigableMap<Integer, BitSet> releaseYears) {
+        this.genres = genres;
+        this.ageRatings = ageRatings;
+        this.releaseYears = releaseYears;
+    }
+
+    public static MovieFacets empty() {
+        return new MovieFacets(new HashMap<>(), new EnumMap<>(AgeRating.class), new TreeMap<>());
+    }
+
+    public Editor edit() {
+        return new Editor(this);
+    }
+
+    /**
+     * @param filter Filter to apply
+     * @param size   Number of movies in the snapshot
+     * @return The ranks matching the filter
+     */
+    public BitSet match(MovieFilter filter, int size) {
+        BitSet result = all(size);
+        result.and(genreMatch(filter, size));
+        result.and(ageRatingMatch(filter, size));
+        result.and(releaseYearMatch(filter, size));
+        return result;
+    }
+
+    public MovieFacetCounts counts(MovieFilter filter, int size) {
+        BitSet genreBase = all(size);
+        genreBase.and(ageRatingMatch(filter, size));
+        genreBase.and(releaseYearMatch(filter, size));
+
+        BitSet ageRatingBase = all(size);
+        ageRatingBase.and(genreMatch(filter, size));
+        ageRatingBase.and(releaseYearMatch(filter, size));
+
+        BitSet releaseYearBase = all(size);
+        releaseYearBase.and(genreMatch(filter, size));
+        releaseYearBase.and(ageRatingMatch(filter, size));
+
+        return new MovieFacetCounts(
+                match(filter, size).cardinality(),
+                countEach(new TreeMap<>(genres), genreBase),
+                countEach(ageRatings, ageRatingBase),
+                countEach(releaseYears, releaseYearBase)
+        );
+    }
+
+    private BitSet genreMatch(MovieFilter filter, int size) {
+        return filter.getGenres().isEmpty() ? all(size) : union(filter.getGenres().stream().map(genres::get).toList());
+    }
+
+    private BitSet ageRatingMatch(MovieFilter filter, int size) {
+        return filter.getAgeRatings().isEmpty()
+                ? all(size)
+                : union(filter.getAgeRatings().stream().map(ageRatings::get).toList());
+    }
+
+    private BitSet releaseYearMatch(MovieFilter filter, int size) {
+        if (filter.getYearFrom() == null && filter.getYearTo() == null) {
+            return all(size);
+        }
+        int from = filter.getYearFrom() != null ? filter.getYearFrom() : Integer.MIN_VALUE;
+        int to = filter.getYearTo() != null ? filter.getYearTo() : Integer.MAX_VALUE;
+        return union(releaseYears.subMap(from, true, to, true).values());
+    }
+
+    private static <K> Map<K, Integer> countEach(Map<K, BitSet> bitmaps, BitSet base) {
+        Map<K, Integer> counts = new LinkedHashMap<>();
+        bitmaps.forEach((value, bitmap) -> {
+            BitSet intersection = (BitSet) bitmap.clone();
+            intersection.and(base);
+            int count = intersection.cardinality();
+            if (count > 0) {
+                counts.put(value, count);
+            }
+        });
+        return counts;
+    }
+
+    private static BitSet all(int size) {
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return all;
+    }
+
+    private static BitSet union(Collection<BitSet> bitmaps) {
+        BitSet result = new BitSet();
+        for (BitSet bitmap : bitmaps) {
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Single-use builder for the next version of the facets. Not thread safe.
+     */
+    public static final class Editor {
+
+        private final Map<String, BitSet> genres;
+        private final Map<AgeRating, BitSet> ageRatings;
+        private final NavigableMap<Integer, BitSet> releaseYears;
+        private final Set<BitSet> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Editor(MovieFacets base) {
+            this.genres = new HashMap<>(base.genres);
+            this.ageRatings = new EnumMap<>(base.ageRatings);
+            this.releaseYears = new TreeMap<>(base.releaseYears);
+        }
+
+        /**
+         * @param position Rank of the movie in the snapshot
+         * @param previous Previous version of the movie at that rank, or null if it is new
+         * @param movie    Current version of the movie
+         */
+        public Editor replace(int position, MovieWithRating previous, MovieWithRating movie) {
+            // Rating updates are the common case and leave every facet as it was
+            if (previous != null && Objects.equals(previous.getGenres(), movie.getGenres())
+                    && previous.getAgeRating() == movie.getAgeRating()
+                    && Objects.equals(previous.getReleaseYear(), movie.getReleaseYear())) {
+                return this;
+            }
+            if (previous != null) {
+                if (previous.getGenres() != null) {
+                    previous.getGenres().forEach(genre -> clear(genres, genre, position));
+                }
+                clear(ageRatings, previous.getAgeRating(), position);
+                clear(releaseYears, previous.getReleaseYear(), position);
+            }
+            if (movie.getGenres() != null) {
+                movie.getGenres().forEach(genre -> set(genres, genre, position));
+            }
+            set(ageRatings, movie.getAgeRating(), position);
+            set(releaseYears, movie.getReleaseYear(), position);
+            return this;
+        }
+
+        public MovieFacets build() {
+            return new MovieFacets(genres, ageRatings, releaseYears);
+        }
+
+        private <K> void set(Map<K, BitSet> bitmaps, K value, int position) {
+            if (value != null) {
+                writable(bitmaps, value).set(position);
+            }
+        }
+
+        private <K> void clear(Map<K, BitSet> bitmaps, K value, int position) {
+            if (value == null || !bitmaps.containsKey(value)) {
+                return;
+            }
+            BitSet bitmap = writable(bitmaps, value);
+            bitmap.clear(position);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(value);
+            }
+        }
+
+        private <K> BitSet writable(Map<K, BitSet> bitmaps, K value) {
+            BitSet bitmap = bitmaps.get(value);
+            if (bitmap == null) {
+                bitmap = new BitSet();
+            } else if (!owned.contains(bitmap)) {
+                bitmap = (BitSet) bitmap.clone();
+            } else {
+                return bitmap;
+            }
+            owned.add(bitmap);
+            bitmaps.put(value, bitmap);
+            return bitmap;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Reviewed movies ordered by a Bayesian average, overall and per genre, kept in concurrent skip lists so the
+ * top N can be read in O(N) while reviews keep arriving.
+ * <p>
+ * The score pulls each movie's average towards a fixed prior in proportion to how few reviews it has:
+ * {@code (priorWeight * priorMean + ratingSum) / (priorWeight + reviewCount)}. The prior is fixed rather than
+ * the live catalog mean so one review only ever moves one movie's position.
+ * <p>
+ * There is one writer at a time (the catalog's write lock) and any number of concurrent readers. Entries refer
+ * to {@link MovieCatalogSnapshot} ordinals, and readers must ignore ordinals beyond their snapshot's size.
+ */
+public final class MovieLeaderboard {
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::movieId);
+
+    private final double priorMean;
+    private final double priorWeight;
+    private final NavigableSet<Entry> overall = new ConcurrentSkipListSet<>(RANKING);
+    private final Map<String, NavigableSet<Entry>> byGenre = new ConcurrentHashMap<>();
+    // Only touched by the writer
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    public MovieLeaderboard(double priorMean, double priorWeight) {
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+    }
+
+    /**
+     * Re-ranks a movie after its rating or genres changed. Movies without reviews are not ranked.
+     *
+     * @param ordinal Snapshot ordinal of the movie
+     * @param movie   Current version of the movie
+     */
+    public void update(int ordinal, MovieWithRating movie) {
+        Entry previous = entries.get(movie.getId());
+        Entry next = movie.getReviewCount() > 0 && movie.getAverageRating() != null
+                ? new Entry(movie.getId(), ordinal, score(movie.getAverageRating(), movie.getReviewCount()),
+                        movie.getGenres() != null ? List.copyOf(movie.getGenres()) : List.of())
+                : null;
+        if (previous != null && previous.equals(next)) {
+            return;
+        }
+
+        if (previous != null) {
+            overall.remove(previous);
+            previous.genres().forEach(genre -> byGenre.get(genre).remove(previous));
+            entries.remove(movie.getId());
+        }
+        if (next != null) {
+            overall.add(next);
+            next.genres().forEach(genre -> byGenre
+                    .computeIfAbsent(genre, key -> new ConcurrentSkipListSet<>(RANKING))
+                    .add(next));
+            entries.put(movie.getId(), next);
+        }
+    }
+
+    /**
+     * @param genre Genre to rank within, or null for the whole catalog
+     * @param limit Maximum number of movies to return
+     * @return Ordinals of the highest scoring movies, best first
+     */
+    public int[] top(String genre, int limit) {
+        NavigableSet<Entry> ranking = genre == null ? overall : byGenre.get(genre);
+        if (ranking == null) {
+            return new int[0];
+        }
+
+        int[] ordinals = new int[limit];
+        int count = 0;
+        Iterator<Entry> iterator = ranking.iterator();
+        while (count < limit && iterator.hasNext()) {
+            ordinals[count++] = iterator.next().ordinal();
+        }
+        return Arrays.copyOf(ordinals, count);
+    }
+
+    double score(double averageRating, long reviewCount) {
+        return (priorWeight * priorMean + averageRating * reviewCount) / (priorWeight + reviewCount);
+    }
+
+    private record Entry(UUID movieId, int ordinal, double score, List<String> genres) {
+    }
+}
@@ -0,0 +1,218 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from normalized tokens of a movie's name, cast, directors, writers and producers to sorted
+ * posting lists of {@link MovieCatalogSnapshot} ordinals.
+ * <p>
+ * There is one writer at a time (the catalog's write lock) and any number of concurrent readers. Posting lists
+ * are never mutated in place: a change replaces the whole array, so a reader sees either the old or the new list.
+ * Readers must ignore ordinals beyond the size of the snapshot they resolve results against.
+ */
+public final class MovieSearchIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int[] NO_POSTINGS = new int[0];
+    // Shorter last tokens match exactly: a one or two letter prefix covers a large share of the index
+    static final int MIN_PREFIX_LENGTH = 3;
+    // Completions unioned for a prefix, the most common first, so a query costs a bounded merge
+    static final int MAX_PREFIX_TERMS = 64;
+    // Least common first, and of equally common terms the later one alphabetically, so it is the next to be dropped
+    private static final Comparator<Map.Entry<String, int[]>> LEAST_COMMON_FIRST =
+            Comparator.<Map.Entry<String, int[]>>comparingInt(entry -> entry.getValue().length)
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+    private final NavigableMap<String, int[]> postings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Indexes a movie under its ordinal, replacing whatever was indexed for the previous version of the movie.
+     *
+     * @param ordinal  Snapshot ordinal of the movie
+     * @param previous Previously indexed version of the movie, or null if it is new
+     * @param movie    Current version of the movie
+     */
+    public void index(int ordinal, MovieWithRating previous, MovieWithRating movie) {
+        Set<String> before = previous != null ? tokensOf(previous) : Set.of();
+        Set<String> after = tokensOf(movie);
+        if (before.equals(after)) {
+            return;
+        }
+
+        for (String token : before) {
+            if (!after.contains(token)) {
+                postings.computeIfPresent(token, (key, list) -> {
+                    int[] remaining = without(list, ordinal);
+                    return remaining.length == 0 ? null : remaining;
+                });
+            }
+        }
+        for (String token : after) {
+            if (!before.contains(token)) {
+                postings.merge(token, new int[]{ordinal}, (list, single) -> with(list, ordinal));
+            }
+        }
+    }
+
+    /**
+     * Finds the movies containing every token of the query. The last token also matches as a prefix, so partly
+     * typed words still find results, once it is at least {@value #MIN_PREFIX_LENGTH} characters long. The prefix
+     * itself always counts as a completion; beyond that only the {@value #MAX_PREFIX_TERMS} completions found in the
+     * most movies count, so a rare word needs a few more letters typed before it is matched.
+     *
+     * @param query Free text query
+     * @return Matching ordinals in ascending order, which may include ordinals newer than the caller's snapshot
+     */
+    public int[] search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return NO_POSTINGS;
+        }
+
+        int[] result = prefixPostings(tokens.get(tokens.size() - 1));
+        for (int i = 0; i < tokens.size() - 1 && result.length > 0; i++) {
+            result = intersect(result, postings.getOrDefault(tokens.get(i), NO_POSTINGS));
+        }
+        return result;
+    }
+
+    public int tokenCount() {
+        return postings.size();
+    }
+
+    /**
+     * Lower-cases, strips accents and splits on anything that is not a letter or digit.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(NON_WORD.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static Set<String> tokensOf(MovieWithRating movie) {
+        Set<String> tokens = new LinkedHashSet<>(tokenize(movie.getName()));
+        addAll(tokens, movie.getCast());
+        addAll(tokens, movie.getDirectors());
+        addAll(tokens, movie.getWriters());
+        addAll(tokens, movie.getProducers());
+        return tokens;
+    }
+
+    private static void addAll(Set<String> tokens, List<String> credits) {
+        if (credits != null) {
+            credits.forEach(credit -> tokens.addAll(tokenize(credit)));
+        }
+    }
+
+    private int[] prefixPostings(String prefix) {
+        if (prefix.length() < MIN_PREFIX_LENGTH) {
+            return postings.getOrDefault(prefix, NO_POSTINGS);
+        }
+        // Only lengths are compared while choosing, so walking every completion is cheap next to the merge
+        PriorityQueue<Map.Entry<String, int[]>> mostCommon = new PriorityQueue<>(LEAST_COMMON_FIRST);
+        NavigableMap<String, int[]> completions = postings.subMap(prefix, false, prefix + Character.MAX_VALUE, false);
+        for (Map.Entry<String, int[]> completion : completions.entrySet()) {
+            if (mostCommon.size() < MAX_PREFIX_TERMS - 1) {
+                mostCommon.add(completion);
+            } else if (LEAST_COMMON_FIRST.compare(completion, mostCommon.peek()) > 0) {
+                mostCommon.poll();
+                mostCommon.add(completion);
+            }
+        }
+
+        int[] union = postings.getOrDefault(prefix, NO_POSTINGS);
+        for (Map.Entry<String, int[]> completion : mostCommon) {
+            union = union.length == 0 ? completion.getValue() : union(union, completion.getValue());
+        }
+        return union;
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[k++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[k++] = b[j++];
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[k++] = a[i++];
+        }
+        while (j < b.length) {
+            result[k++] = b[j++];
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private static int[] with(int[] list, int ordinal) {
+        int position = Arrays.binarySearch(list, ordinal);
+        if (position >= 0) {
+            return list;
+        }
+        int insertAt = -position - 1;
+        int[] result = new int[list.length + 1];
+        System.arraycopy(list, 0, result, 0, insertAt);
+        result[insertAt] = ordinal;
+        System.arraycopy(list, insertAt, result, insertAt + 1, list.length - insertAt);
+        return result;
+    }
+
+    private static int[] without(int[] list, int ordinal) {
+        int position = Arrays.binarySearch(list, ordinal);
+        if (position < 0) {
+            return list;
+        }
+        int[] result = new int[list.length - 1];
+        System.arraycopy(list, 0, result, 0, position);
+        System.arraycopy(list, position + 1, result, position, list.length - position - 1);
+        return result;
+    }
+}
@@ -1,96 +1,265 @@
 package com.madetech.soheb.moviereviewsbackend.service;
 
 import com.github.f4b6a3.uuid.UuidCreator;
+import com.madetech.soheb.moviereviewsbackend.config.TransactionConfig;
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
 import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.data.database.MovieRatingStats;
+import com.madetech.soheb.moviereviewsbackend.data.events.MovieSubmittedEvent;
+import com.madetech.soheb.moviereviewsbackend.data.events.MoviesSubmittedEvent;
 import com.madetech.soheb.moviereviewsbackend.data.exceptions.MovieServiceException;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieSubmissionRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRatingStatsRepository;
 import com.madetech.soheb.moviereviewsbackend.repository.MovieRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 public class MovieService {
 
+    private static final int CREDITS_BATCH_SIZE = 500;
+
     private final MovieRepository movieRepository;
+    private final MovieRatingStatsRepository movieRatingStatsRepository;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations readOnlyTransactionOperations;
 
-    public MovieService(MovieRepository movieRepository) {
+    public MovieService(MovieRepository movieRepository,
+                        MovieRatingStatsRepository movieRatingStatsRepository,
+                        TransactionOperations transactionOperations,
+                        ApplicationEventPublisher eventPublisher,
+                        @Qualifier(TransactionConfig.READ_ONLY_TRANSACTION_OPERATIONS)
+                        TransactionOperations readOnlyTransactionOperations) {
         this.movieRepository = movieRepository;
+        this.movieRatingStatsRepository = movieRatingStatsRepository;
+        this.transactionOperations = transactionOperations;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransactionOperations = readOnlyTransactionOperations;
     }
 
     public Optional<Movie> submitMovie(MovieSubmissionRequest request) {
         return executeWithErrorHandling(
                 () -> {
-                    Movie movie = new Movie();
-                    movie.setId(UuidCreator.getTimeOrderedEpoch());
-                    movie.setName(request.getName());
-                    movie.setGenres(request.getGenres());
-                    movie.setDirectors(request.getDirectors());
-                    movie.setWriters(request.getWriters());
-                    movie.setCast(request.getCast());
-                    movie.setProducers(request.getProducers());
-                    movie.setReleaseYear(request.getReleaseYear());
-                    movie.setAgeRating(request.getAgeRating());
-                    movie.setCreatedAt(LocalDateTime.now());
-
-                    return Optional.of(movieRepository.save(movie));
+                    Movie movie = toMovie(request);
+
+                    return transactionOperations.execute(status -> {
+                        Movie savedMovie = movieRepository.save(movie);
+                        // Every movie starts with an empty aggregate so review writes only ever need an UPDATE
+                        movieRatingStatsRepository.save(MovieRatingStats.empty(savedMovie.getId()));
+                        eventPublisher.publishEvent(new MovieSubmittedEvent(savedMovie));
+                        return Optional.of(savedMovie);
+                    });
                 },
                 "ERR_MOVIE_SUBMISSION_FAILED: Failed to submit movie"
         );
     }
 
-    public List<MovieWithRating> getAllMoviesWithRating() {
+    /**
+     * Saves a batch of already validated movies in one transaction. The inserts are deferred to a single flush
+     * at commit, where Hibernate's JDBC batching groups them into one batch per table rather than a round trip
+     * per row; the batch commits or rolls back as a whole.
+     *
+     * @param requests The movies to save
+     * @return The saved movies, in request order
+     */
+    public List<Movie> submitMovies(List<MovieSubmissionRequest> requests) {
         return executeWithErrorHandling(
                 () -> {
-                    List<Object[]> results = movieRepository.findAllMoviesWithAverageRating();
-                    return results.stream()
-                            .map(this::convertToMovieWithRating)
+                    List<Movie> movies = requests.stream()
+                            .map(this::toMovie)
                             .toList();
+
+                    return transactionOperations.execute(status -> {
+                        List<Movie> savedMovies = movieRepository.saveAll(movies);
+                        movieRatingStatsRepository.saveAll(savedMovies.stream()
+                                .map(movie -> MovieRatingStats.empty(movie.getId()))
+                                .toList());
+                        eventPublisher.publishEvent(new MoviesSubmittedEvent(savedMovies));
+                        return savedMovies;
+                    });
                 },
-                "ERR_MOVIES_RETRIEVAL_FAILED: Failed to retrieve movies"
+                "ERR_MOVIE_BATCH_SUBMISSION_FAILED: Failed to submit batch of movies"
         );
     }
 
-    private MovieWithRating convertToMovieWithRating(Object[] result) {
-        Movie movie = (Movie) result[0];
-        Double averageRating = result[1] != null ? ((Number) result[1]).doubleValue() : null;
-        
-        return new MovieWithRating(
-                movie.getId(),
-                movie.getName(),
-                movie.getGenres(),
-                movie.getDirectors(),
-                movie.getWriters(),
-                movie.getCast(),
-                movie.getProducers(),
-                movie.getReleaseYear(),
-                movie.getAgeRating(),
-                movie.getCreatedAt(),
-                averageRating
-        );
+    private Movie toMovie(MovieSubmissionRequest request) {
+        Movie movie = new Movie();
+        movie.setId(UuidCreator.getTimeOrderedEpoch());
+        movie.setName(request.getName());
+        movie.setGenres(request.getGenres());
+        movie.setDirectors(request.getDirectors());
+        movie.setWriters(request.getWriters());
+        movie.setCast(request.getCast());
+        movie.setProducers(request.getProducers());
+        movie.setReleaseYear(request.getReleaseYear());
+        movie.setAgeRating(request.getAgeRating());
+        // Match the database's microsecond precision so page cursors compare exactly against stored rows
+        movie.setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        return movie;
     }
 
-    public Optional<Movie> findMovieById(UUID movieId) {
+    public List<MovieWithRating> getAllMoviesWithRating() {
         return executeWithErrorHandling(
-                () -> movieRepository.findById(movieId),
-                "ERR_MOVIE_FIND_FAILED: Failed to find movie by ID"
+                // Joins the caller's transaction if any; the catalog runs this read-write, on the primary
+                () -> readOnlyTransactionOperations.execute(status -> {
+                    List<Object[]> results = movieRepository.findAllMoviesWithRatingStats();
+                    return toMoviesWithRating(results);
+                }),
+                "ERR_MOVIES_RETRIEVAL_FAILED: Failed to retrieve movies"
         );
     }
 
-    public boolean movieExists(UUID movieId) {
-        return executeWithErrorHandling(
-                () -> movieRepository.existsById(movieId),
-                "ERR_MOVIE_EXISTS_CHECK_FAILED: Failed to check if movie exists"
+    /**
+     * Passes every movie, with its credits and rating, to {@code action} while rows are still being read from the
+     * database, so heap use does not grow with the size of the catalog. Movies are read through a forward-only
+     * cursor and their credits loaded one fetch window at a time with the batched loaders.
+     *
+     * @param action Called once per movie, in no particular order, inside a read-only transaction
+     */
+    public void streamAllMovies(Consumer<MovieWithRating> action) {
+        executeWithErrorHandling(
+                () -> {
+                    readOnlyTransactionOperations.executeWithoutResult(status -> {
+                        try (Stream<Object[]> rows = movieRepository.streamAllForExport()) {
+                            List<Object[]> window = new ArrayList<>(MovieRepository.EXPORT_FETCH_SIZE);
+                            Iterator<Object[]> iterator = rows.iterator();
+                            while (iterator.hasNext()) {
+                                window.add(iterator.next());
+                                if (window.size() == MovieRepository.EXPORT_FETCH_SIZE || !iterator.hasNext()) {
+                                    toExportedMovies(window).forEach(action);
+                                    window.clear();
+                                }
+                            }
+                        }
+                    });
+                    return null;
+                },
+                "ERR_MOVIES_EXPORT_FAILED: Failed to export movies"
         );
     }
 
+    // Rows of (id, name, releaseYear, ageRating, createdAt, ratingSum, ratingCount) from streamAllForExport
+    private List<MovieWithRating> toExportedMovies(List<Object[]> rows) {
+        List<UUID> movieIds = rows.stream()
+                .map(row -> (UUID) row[0])
+                .toList();
+
+        Map<UUID, List<String>> genres = loadCredits(movieIds, movieRepository::findGenresByMovieIds);
+        Map<UUID, List<String>> directors = loadCredits(movieIds, movieRepository::findDirectorsByMovieIds);
+        Map<UUID, List<String>> writers = loadCredits(movieIds, movieRepository::findWritersByMovieIds);
+        Map<UUID, List<String>> cast = loadCredits(movieIds, movieRepository::findCastByMovieIds);
+        Map<UUID, List<String>> producers = loadCredits(movieIds, movieRepository::findProducersByMovieIds);
+
+        return rows.stream()
+                .map(row -> {
+                    UUID movieId = (UUID) row[0];
+                    long ratingSum = row[5] != null ? (Long) row[5] : 0L;
+                    long ratingCount = row[6] != null ? (Long) row[6] : 0L;
+
+                    return new MovieWithRating(
+                            movieId,
+                            (String) row[1],
+                            genres.getOrDefault(movieId, List.of()),
+                            directors.getOrDefault(movieId, List.of()),
+                            writers.getOrDefault(movieId, List.of()),
+                            cast.getOrDefault(movieId, List.of()),
+                            producers.getOrDefault(movieId, List.of()),
+                            (Integer) row[2],
+                            (AgeRating) row[3],
+                            (LocalDateTime) row[4],
+                            ratingCount == 0 ? null : (double) ratingSum / ratingCount,
+                            ratingCount
+                    );
+                })
+                .toList();
+    }
+
+    /**
+     * Builds listing DTOs for rows of (Movie, MovieRatingStats) without touching the lazy credit collections.
+     * Credits are fetched with one IN-list query per collection table per batch of movies, so the query count
+     * for a page does not depend on how many movies it holds.
+     */
+    private List<MovieWithRating> toMoviesWithRating(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> movieIds = rows.stream()
+                .map(row -> ((Movie) row[0]).getId())
+                .toList();
+
+        Map<UUID, List<String>> genres = loadCredits(movieIds, movieRepository::findGenresByMovieIds);
+        Map<UUID, List<String>> directors = loadCredits(movieIds, movieRepository::findDirectorsByMovieIds);
+        Map<UUID, List<String>> writers = loadCredits(movieIds, movieRepository::findWritersByMovieIds);
+        Map<UUID, List<String>> cast = loadCredits(movieIds, movieRepository::findCastByMovieIds);
+        Map<UUID, List<String>> producers = loadCredits(movieIds, movieRepository::findProducersByMovieIds);
+
+        return rows.stream()
+                .map(row -> {
+                    Movie movie = (Movie) row[0];
+                    MovieRatingStats stats = (MovieRatingStats) row[1];
+                    UUID movieId = movie.getId();
+
+                    return new MovieWithRating(
+                            movieId,
+                            movie.getName(),
+                            genres.getOrDefault(movieId, List.of()),
+                            directors.getOrDefault(movieId, List.of()),
+                            writers.getOrDefault(movieId, List.of()),
+                            cast.getOrDefault(movieId, List.of()),
+                            producers.getOrDefault(movieId, List.of()),
+                            movie.getReleaseYear(),
+                            movie.getAgeRating(),
+                            movie.getCreatedAt(),
+                            stats != null ? stats.getAverageRating() : null,
+                            stats != null ? stats.getRatingCount() : 0L
+                    );
+                })
+                .toList();
+    }
+
+    private Map<UUID, List<String>> loadCredits(List<UUID> movieIds,
+                                                Function<Collection<UUID>, List<Object[]>> loader) {
+        Map<UUID, List<String>> credits = new HashMap<>();
+        // Chunk the IN-list so full-catalog reads stay under the driver's bind parameter limit
+        for (int from = 0; from < movieIds.size(); from += CREDITS_BATCH_SIZE) {
+            List<UUID> batch = movieIds.subList(from, Math.min(from + CREDITS_BATCH_SIZE, movieIds.size()));
+            for (Object[] row : loader.apply(batch)) {
+                credits.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+        return credits;
+    }
+
+    /**
+     * Returns a lazy reference to a movie without querying the database, for use as an association.
+     * Must be called inside a transaction; a missing movie surfaces as a foreign key violation on flush.
+     */
+    public Movie getMovieReference(UUID movieId) {
+        return movieRepository.getReferenceById(movieId);
+    }
+
     private <T> T executeWithErrorHandling(Supplier<T> operation, String errorMessage) {
         try {
             return operation.get();
@@ -0,0 +1,268 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewsImportedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory rating histograms, one counter per rating value (0 to 10) per movie, so distributions are served
+ * without any GROUP BY over reviews.
+ * <p>
+ * Counts are loaded from movie_rating_histograms on first use and incremented after each review commits. The
+ * increments are also collected as deltas and added to the table in one batch per flush interval; a delta that
+ * fails to flush is kept for the next attempt. {@link #reload()} re-reads the table (plus any unflushed deltas)
+ * to pick up reviews counted by other instances.
+ */
+@Slf4j
+@Service
+public class RatingHistogramStore {
+
+    public static final int BUCKETS = 11;
+
+    private static final String COLUMNS = IntStream.range(0, BUCKETS)
+            .mapToObj(rating -> "rating_" + rating)
+            .collect(Collectors.joining(", "));
+    private static final String UPDATE_SQL = "UPDATE movie_rating_histograms SET "
+            + IntStream.range(0, BUCKETS)
+                    .mapToObj(rating -> "rating_" + rating + " = rating_" + rating + " + ?")
+                    .collect(Collectors.joining(", "))
+            + " WHERE movie_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO movie_rating_histograms (" + COLUMNS + ", movie_id) VALUES ("
+            + "?, ".repeat(BUCKETS) + "?)";
+    private static final String SELECT_SQL = "SELECT movie_id, " + COLUMNS + " FROM movie_rating_histograms";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final Map<UUID, AtomicLongArray> counts = new ConcurrentHashMap<>();
+    // Increments not yet written to the table; entries are reset slot by slot, never removed, so none are lost
+    private final Map<UUID, AtomicLongArray> pending = new ConcurrentHashMap<>();
+    // Held by flush and reload, so a reload never runs between a flush draining its deltas and committing them
+    private final Object tableLock = new Object();
+    // Read side held by each record across its delta and count increments, write side by reload while it swaps in
+    // the new counts, so every increment lands either in the deltas reload adds or in the counts it installs
+    private final ReadWriteLock countsLock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public RatingHistogramStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Always a new read-write transaction, so reloads as well as flushes run against the primary
+        TransactionTemplate transactionOperations = new TransactionTemplate(transactionManager);
+        transactionOperations.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionOperations = transactionOperations;
+    }
+
+    /**
+     * @return Number of reviews for each rating, indexed by rating; all zeros for an unreviewed movie
+     */
+    public long[] histogram(UUID movieId) {
+        ensureLoaded();
+        AtomicLongArray movieCounts = counts.get(movieId);
+        long[] histogram = new long[BUCKETS];
+        if (movieCounts != null) {
+            for (int rating = 0; rating < BUCKETS; rating++) {
+                histogram[rating] = movieCounts.get(rating);
+            }
+        }
+        return histogram;
+    }
+
+    // Runs before the catalog's listener so the patched listing already includes this review
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        record(event.getMovieId(), event.getRating());
+    }
+
+    // Same ordering as above, for a whole batch of imported reviews
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReviewsImported(ReviewsImportedEvent event) {
+        event.getRatingCounts().forEach(this::recordAll);
+    }
+
+    public void record(UUID movieId, int rating) {
+        if (rating < 0 || rating >= BUCKETS) {
+            log.warn("Ignoring out of range rating {} for movie {}", rating, movieId);
+            return;
+        }
+        Lock lock = countsLock.readLock();
+        lock.lock();
+        try {
+            pending.computeIfAbsent(movieId, id -> new AtomicLongArray(BUCKETS)).incrementAndGet(rating);
+            counts.computeIfAbsent(movieId, id -> new AtomicLongArray(BUCKETS)).incrementAndGet(rating);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param ratingCounts Number of new reviews at each rating, indexed by rating
+     */
+    public void recordAll(UUID movieId, long[] ratingCounts) {
+        Lock lock = countsLock.readLock();
+        lock.lock();
+        try {
+            AtomicLongArray movieDeltas = pending.computeIfAbsent(movieId, id -> new AtomicLongArray(BUCKETS));
+            AtomicLongArray movieCounts = counts.computeIfAbsent(movieId, id -> new AtomicLongArray(BUCKETS));
+            for (int rating = 0; rating < BUCKETS && rating < ratingCounts.length; rating++) {
+                if (ratingCounts[rating] != 0) {
+                    movieDeltas.addAndGet(rating, ratingCounts[rating]);
+                    movieCounts.addAndGet(rating, ratingCounts[rating]);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${moviereviews.histogram.flush-interval:PT10S}")
+    public void flush() {
+        synchronized (tableLock) {
+            flushPending();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Replaces the in-memory counts with the table plus any deltas not yet flushed.
+     */
+    public void reload() {
+        synchronized (tableLock) {
+            reloadCounts();
+        }
+    }
+
+    private void flushPending() {
+        Map<UUID, long[]> deltas = new HashMap<>();
+        pending.forEach((movieId, movieDeltas) -> {
+            long[] delta = new long[BUCKETS];
+            boolean changed = false;
+            for (int rating = 0; rating < BUCKETS; rating++) {
+                delta[rating] = movieDeltas.getAndSet(rating, 0);
+                changed |= delta[rating] != 0;
+            }
+            if (changed) {
+                deltas.put(movieId, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionOperations.executeWithoutResult(status -> write(deltas));
+            log.debug("Flushed rating histogram deltas for {} movies", deltas.size());
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them, whatever stopped this one
+            deltas.forEach((movieId, delta) -> {
+                AtomicLongArray movieDeltas = pending.computeIfAbsent(movieId, id -> new AtomicLongArray(BUCKETS));
+                for (int rating = 0; rating < BUCKETS; rating++) {
+                    movieDeltas.addAndGet(rating, delta[rating]);
+                }
+            });
+            log.error("ERR_HISTOGRAM_FLUSH_FAILED: Failed to flush rating histogram deltas, will retry", e);
+        }
+    }
+
+    private void reloadCounts() {
+        Map<UUID, long[]> stored = new HashMap<>();
+        transactionOperations.executeWithoutResult(status -> jdbcTemplate.query(SELECT_SQL, row -> {
+            long[] histogram = new long[BUCKETS];
+            for (int rating = 0; rating < BUCKETS; rating++) {
+                histogram[rating] = row.getLong(rating + 2);
+            }
+            stored.put(row.getObject(1, UUID.class), histogram);
+        }));
+
+        // Records wait only for the in-memory swap, not the query; flushes are already held off by tableLock
+        Lock lock = countsLock.writeLock();
+        lock.lock();
+        try {
+            stored.forEach((movieId, histogram) -> {
+                AtomicLongArray movieDeltas = pending.get(movieId);
+                AtomicLongArray movieCounts = new AtomicLongArray(BUCKETS);
+                for (int rating = 0; rating < BUCKETS; rating++) {
+                    movieCounts.set(rating, histogram[rating] + (movieDeltas != null ? movieDeltas.get(rating) : 0));
+                }
+                counts.put(movieId, movieCounts);
+            });
+            pending.forEach((movieId, movieDeltas) -> {
+                if (!stored.containsKey(movieId)) {
+                    AtomicLongArray movieCounts = new AtomicLongArray(BUCKETS);
+                    for (int rating = 0; rating < BUCKETS; rating++) {
+                        movieCounts.set(rating, movieDeltas.get(rating));
+                    }
+                    counts.put(movieId, movieCounts);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        loaded = true;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (tableLock) {
+            if (!loaded) {
+                reload();
+                log.info("Loaded rating histograms for {} movies", counts.size());
+            }
+        }
+    }
+
+    private void write(Map<UUID, long[]> deltas) {
+        List<UUID> movieIds = new ArrayList<>(deltas.keySet());
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, movieIds.stream()
+                .map(movieId -> arguments(deltas.get(movieId), movieId))
+                .toList());
+
+        // Movies reviewed for the first time have no row yet. If another instance inserts the same row first the
+        // whole flush fails and is retried, and the retry's UPDATE then finds the row
+        for (int i = 0; i < movieIds.size(); i++) {
+            if (updated[i] == 0) {
+                UUID movieId = movieIds.get(i);
+                jdbcTemplate.update(INSERT_SQL, arguments(deltas.get(movieId), movieId));
+            }
+        }
+    }
+
+    private static Object[] arguments(long[] delta, UUID movieId) {
+        Object[] arguments = new Object[BUCKETS + 1];
+        for (int rating = 0; rating < BUCKETS; rating++) {
+            arguments[rating] = delta[rating];
+        }
+        arguments[BUCKETS] = movieId;
+        return arguments;
+    }
+}
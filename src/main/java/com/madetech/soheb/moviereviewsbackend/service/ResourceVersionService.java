@@ -0,0 +1,83 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFilter;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewsImportedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds strong ETags for the public listings from in-memory version counters, so conditional requests can be
+ * answered without reading the repository or serializing anything.
+ * <p>
+ * Counters only move forward and are bumped after the write has committed. Every tag carries a random epoch so
+ * tags issued before a restart can never match again. Reviews written through other instances are not seen as
+ * events, so all review tags are also invalidated once per catalog refresh interval.
+ */
+@Service
+public class ResourceVersionService {
+
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<UUID, Long> reviewVersions = new ConcurrentHashMap<>();
+
+    /**
+     * @param catalogVersion Version of the catalog snapshot the page is served from
+     * @param limit          Page size requested
+     * @param after          Cursor requested, or null for the first page
+     * @param filter         Facet filter requested
+     * @return The ETag for that page of GET /v1/movies
+     */
+    public String moviesETag(long catalogVersion, int limit, PageCursor after, MovieFilter filter) {
+        String cursor = after != null ? after.encode() : "";
+        return "\"m-" + epoch + "-" + catalogVersion + "-" + limit + "-" + cursor + filterKey(filter) + "\"";
+    }
+
+    // Exact and header-safe: genres are free text, so they are encoded rather than hashed or pasted in
+    private String filterKey(MovieFilter filter) {
+        if (filter.isUnfiltered()) {
+            return "";
+        }
+        String key = String.join("\u0000", filter.getGenres()) + "|" + filter.getAgeRatings()
+                + "|" + filter.getYearFrom() + "|" + filter.getYearTo();
+        return "-" + Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param movieId Movie whose reviews are being listed
+     * @param limit   Page size requested
+     * @param after   Cursor requested, or null for the first page
+     * @return The ETag for that page of GET /v1/movies/{movieId}/reviews
+     */
+    public String reviewsETag(UUID movieId, int limit, PageCursor after) {
+        String cursor = after != null ? after.encode() : "";
+        return "\"r-" + epoch + "-" + generation.get() + "-" + reviewVersions.getOrDefault(movieId, 0L)
+                + "-" + limit + "-" + cursor + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        reviewVersions.merge(event.getMovieId(), 1L, Long::sum);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewsImported(ReviewsImportedEvent event) {
+        event.getRatingCounts().keySet().forEach(movieId -> reviewVersions.merge(movieId, 1L, Long::sum));
+    }
+
+    @Scheduled(fixedDelayString = "${moviereviews.catalog.refresh-interval:PT5M}",
+               initialDelayString = "${moviereviews.catalog.refresh-interval:PT5M}")
+    public void invalidateReviews() {
+        generation.incrementAndGet();
+    }
+}
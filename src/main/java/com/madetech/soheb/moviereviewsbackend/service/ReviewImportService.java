@@ -0,0 +1,329 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewImportProgress;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewImportRecord;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewsImportedEvent;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.ReviewRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Bulk import of reviews from a legacy system, read as NDJSON (one {@link ReviewImportRecord} per line).
+ * <p>
+ * Lines are parsed and validated one at a time and written in batches: each batch checks its movies, users and
+ * already reviewed pairs with three IN-list queries, inserts its reviews with one JDBC batch (rewritten into
+ * multi-row INSERTs on PostgreSQL) and adds to each movie's rating aggregate with one batched UPDATE. Memory is
+ * bounded by the batch size, whatever the size of the input. Batches commit independently, so a failure part way
+ * through leaves the earlier batches imported; a batch the database rejects as a whole is counted as rejected and
+ * the import carries on.
+ * <p>
+ * Imported reviews are historical, so they update the listing and histograms but are not counted as trending.
+ */
+@Slf4j
+@Service
+public class ReviewImportService {
+
+    private static final int MAX_LINE_LENGTH = 8192;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_REVIEW_SQL =
+            "INSERT INTO reviews (id, movie_id, user_id, rating, description, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+    // COALESCE so a movie with no ratings yet (NULL min/max) takes the batch's values whatever LEAST does with NULL
+    private static final String UPDATE_STATS_SQL = """
+            UPDATE movie_rating_stats
+            SET rating_sum = rating_sum + ?,
+                rating_count = rating_count + ?,
+                min_rating = COALESCE(LEAST(min_rating, ?), ?),
+                max_rating = COALESCE(GREATEST(max_rating, ?), ?),
+                last_review_at = COALESCE(GREATEST(last_review_at, ?), ?)
+            WHERE movie_id = ?
+            """;
+    private static final String INSERT_STATS_SQL = "INSERT INTO movie_rating_stats "
+            + "(movie_id, rating_sum, rating_count, min_rating, max_rating, last_review_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final MovieRepository movieRepository;
+    private final UserRepository userRepository;
+    private final ReviewRepository reviewRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectReader recordReader;
+    private final int batchSize;
+
+    public ReviewImportService(MovieRepository movieRepository,
+                               UserRepository userRepository,
+                               ReviewRepository reviewRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionOperations transactionOperations,
+                               ApplicationEventPublisher eventPublisher,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               @Value("${moviereviews.review-import.batch-size:1000}") int batchSize) {
+        this.movieRepository = movieRepository;
+        this.userRepository = userRepository;
+        this.reviewRepository = reviewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.recordReader = objectMapper.readerFor(ReviewImportRecord.class);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports every line of the input, reporting running totals after each batch.
+     *
+     * @param input    UTF-8 NDJSON, one review per line; blank lines are skipped
+     * @param progress Called with the running totals after each batch
+     * @return The final totals
+     * @throws IOException If the input cannot be read
+     */
+    public ReviewImportProgress importReviews(InputStream input, Consumer<ReviewImportProgress> progress)
+            throws IOException {
+        Totals totals = new Totals();
+        List<PendingReview> batch = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder();
+        long lineNumber = 0;
+        int length;
+        while ((length = readLine(reader, line)) >= 0) {
+            lineNumber++;
+            if (line.toString().isBlank() && length <= MAX_LINE_LENGTH) {
+                continue;
+            }
+
+            totals.processed++;
+            if (length > MAX_LINE_LENGTH) {
+                totals.reject(lineNumber, "line too long");
+                continue;
+            }
+
+            PendingReview pending = parse(lineNumber, line.toString(), totals);
+            if (pending != null) {
+                batch.add(pending);
+            }
+
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, totals);
+                batch.clear();
+                progress.accept(totals.snapshot(false));
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch, totals);
+        }
+        ReviewImportProgress result = totals.snapshot(true);
+        log.info("Review import finished: {} processed, {} imported, {} rejected",
+                result.getProcessed(), result.getImported(), result.getRejected());
+        return result;
+    }
+
+    private PendingReview parse(long lineNumber, String line, Totals totals) {
+        ReviewImportRecord record;
+        try {
+            record = recordReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            totals.reject(lineNumber, "malformed JSON");
+            return null;
+        }
+        if (record == null) {
+            totals.reject(lineNumber, "malformed JSON");
+            return null;
+        }
+
+        List<String> violations = validator.validate(record).stream()
+                .map(violation -> violation.getPropertyPath().toString())
+                .distinct()
+                .sorted()
+                .toList();
+        if (!violations.isEmpty()) {
+            totals.reject(lineNumber, "invalid " + String.join(", ", violations));
+            return null;
+        }
+        return new PendingReview(lineNumber, record);
+    }
+
+    private void writeBatch(List<PendingReview> batch, Totals totals) {
+        BatchResult result;
+        try {
+            result = transactionOperations.execute(status -> {
+                Set<UUID> movieIds = new HashSet<>();
+                Set<UUID> userIds = new HashSet<>();
+                batch.forEach(pending -> {
+                    movieIds.add(pending.record().getMovieId());
+                    userIds.add(pending.record().getUserId());
+                });
+
+                Set<UUID> knownMovies = new HashSet<>(movieRepository.findExistingIds(movieIds));
+                Set<UUID> knownUsers = new HashSet<>(userRepository.findExistingIds(userIds));
+                Set<List<UUID>> reviewed = new HashSet<>();
+                for (Object[] pair : reviewRepository.findUserMoviePairs(userIds, movieIds)) {
+                    reviewed.add(List.of((UUID) pair[0], (UUID) pair[1]));
+                }
+
+                List<Object[]> rows = new ArrayList<>(batch.size());
+                Map<UUID, RatingDelta> deltas = new HashMap<>();
+                List<String> rejections = new ArrayList<>();
+                LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                for (PendingReview pending : batch) {
+                    ReviewImportRecord record = pending.record();
+                    String reason = !knownMovies.contains(record.getMovieId()) ? "unknown movie"
+                            : !knownUsers.contains(record.getUserId()) ? "unknown user"
+                            // add() also catches the same pair appearing twice within this batch
+                            : !reviewed.add(List.of(record.getUserId(), record.getMovieId())) ? "already reviewed"
+                            : null;
+                    if (reason != null) {
+                        rejections.add("line " + pending.lineNumber() + ": " + reason);
+                        continue;
+                    }
+
+                    // Truncated to the database's precision so review cursors compare exactly against stored rows
+                    LocalDateTime timestamp = record.getTimestamp() != null
+                            ? record.getTimestamp().truncatedTo(ChronoUnit.MICROS)
+                            : now;
+                    rows.add(new Object[]{UuidCreator.getTimeOrderedEpoch(), record.getMovieId(), record.getUserId(),
+                            record.getRating(), record.getDescription(), timestamp});
+                    deltas.computeIfAbsent(record.getMovieId(), id -> new RatingDelta())
+                            .add(record.getRating(), timestamp);
+                }
+
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_REVIEW_SQL, rows);
+                    updateRatingStats(deltas);
+
+                    Map<UUID, long[]> ratingCounts = new HashMap<>();
+                    deltas.forEach((movieId, delta) -> ratingCounts.put(movieId, delta.counts));
+                    eventPublisher.publishEvent(new ReviewsImportedEvent(ratingCounts));
+                }
+                return new BatchResult(rows.size(), rejections);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // e.g. a review written concurrently for the same pair; the whole batch rolled back together
+            log.warn("Review import batch for lines {}-{} failed: {}",
+                    batch.get(0).lineNumber(), batch.get(batch.size() - 1).lineNumber(), e.getMessage());
+            for (PendingReview pending : batch) {
+                totals.reject(pending.lineNumber(), "batch failed");
+            }
+            return;
+        }
+
+        totals.imported += result.imported();
+        result.rejections().forEach(totals::reject);
+    }
+
+    private void updateRatingStats(Map<UUID, RatingDelta> deltas) {
+        List<UUID> movieIds = new ArrayList<>(deltas.keySet());
+        List<Object[]> updates = movieIds.stream()
+                .map(movieId -> {
+                    RatingDelta delta = deltas.get(movieId);
+                    return new Object[]{delta.sum, delta.count, delta.min, delta.min, delta.max, delta.max,
+                            delta.lastReviewAt, delta.lastReviewAt, movieId};
+                })
+                .toList();
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_STATS_SQL, updates);
+
+        // No aggregate row yet, e.g. the movie was inserted outside MovieService
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                RatingDelta delta = deltas.get(movieIds.get(i));
+                inserts.add(new Object[]{movieIds.get(i), delta.sum, delta.count, delta.min, delta.max,
+                        delta.lastReviewAt});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STATS_SQL, inserts);
+        }
+    }
+
+    // Reads up to the next '\n' into line, keeping at most MAX_LINE_LENGTH + 1 characters; -1 at end of input
+    private static int readLine(BufferedReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = reader.read()) >= 0 && c != '\n') {
+            if (length++ <= MAX_LINE_LENGTH && c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return c < 0 && length == 0 ? -1 : length;
+    }
+
+    private record PendingReview(long lineNumber, ReviewImportRecord record) {
+    }
+
+    private record BatchResult(int imported, List<String> rejections) {
+    }
+
+    private static class RatingDelta {
+        private final long[] counts = new long[RatingHistogramStore.BUCKETS];
+        private long sum;
+        private long count;
+        private Integer min;
+        private Integer max;
+        private LocalDateTime lastReviewAt;
+
+        void add(int rating, LocalDateTime timestamp) {
+            counts[rating]++;
+            sum += rating;
+            count++;
+            min = min == null ? rating : Math.min(min, rating);
+            max = max == null ? rating : Math.max(max, rating);
+            lastReviewAt = lastReviewAt == null || timestamp.isAfter(lastReviewAt) ? timestamp : lastReviewAt;
+        }
+    }
+
+    private static class Totals {
+        private final List<String> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long rejected;
+
+        void reject(long lineNumber, String reason) {
+            reject("line " + lineNumber + ": " + reason);
+        }
+
+        void reject(String error) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        ReviewImportProgress snapshot(boolean done) {
+            return new ReviewImportProgress(processed, imported, rejected, done, List.copyOf(errors));
+        }
+    }
+}
@@ -1,83 +1,211 @@
 package com.madetech.soheb.moviereviewsbackend.service;
 
 import com.github.f4b6a3.uuid.UuidCreator;
-import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.config.TransactionConfig;
 import com.madetech.soheb.moviereviewsbackend.data.database.Review;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
 import com.madetech.soheb.moviereviewsbackend.data.exceptions.ReviewServiceException;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewExport;
 import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSubmissionRequest;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary;
+import com.madetech.soheb.moviereviewsbackend.data.controller.UserReviewSummary;
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRatingStatsRepository;
 import com.madetech.soheb.moviereviewsbackend.repository.ReviewRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 public class ReviewService {
 
+    // Already reviewed by this user, or no such movie
+    private static final Set<String> REJECTED_REVIEW_CONSTRAINTS =
+            Set.of("uq_reviews_user_id_movie_id", "fk_reviews_movie_id");
+
     private final ReviewRepository reviewRepository;
     private final MovieService movieService;
+    private final MovieRatingStatsRepository movieRatingStatsRepository;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations readOnlyTransactionOperations;
+    private final UserRepository userRepository;
 
-    public ReviewService(ReviewRepository reviewRepository, MovieService movieService) {
+    public ReviewService(ReviewRepository reviewRepository,
+                         MovieService movieService,
+                         MovieRatingStatsRepository movieRatingStatsRepository,
+                         TransactionOperations transactionOperations,
+                         ApplicationEventPublisher eventPublisher,
+                         @Qualifier(TransactionConfig.READ_ONLY_TRANSACTION_OPERATIONS)
+                         TransactionOperations readOnlyTransactionOperations,
+                         UserRepository userRepository) {
         this.reviewRepository = reviewRepository;
         this.movieService = movieService;
+        this.movieRatingStatsRepository = movieRatingStatsRepository;
+        this.transactionOperations = transactionOperations;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransactionOperations = readOnlyTransactionOperations;
+        this.userRepository = userRepository;
     }
 
     public Optional<Review> submitReview(UUID movieId, ReviewSubmissionRequest request, User user) {
         return executeWithErrorHandling(
                 () -> {
-                    if (!movieService.movieExists(movieId)) {
-                        return Optional.<Review>empty();
-                    }
-
-                    if (reviewRepository.existsByUser_IdAndMovie_Id(user.getId(), movieId)) {
-                        return Optional.<Review>empty();
-                    }
-
-                    // Get the movie entity for proper relationship
-                    Optional<Movie> movieOpt = movieService.findMovieById(movieId);
-                    if (movieOpt.isEmpty()) {
-                        return Optional.<Review>empty();
-                    }
-
                     Review review = new Review();
                     review.setId(UuidCreator.getTimeOrderedEpoch());
-                    review.setMovie(movieOpt.get());
-                    review.setUser(user);
                     review.setRating(request.getRating());
                     review.setDescription(request.getDescription());
-                    review.setTimestamp(LocalDateTime.now());
+                    // Truncated to the database's precision so review cursors compare exactly against stored rows
+                    review.setTimestamp(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
 
-                    return Optional.of(reviewRepository.save(review));
+                    try {
+                        // The review and its movie's rating aggregate commit or roll back together
+                        return transactionOperations.execute(status -> {
+                            // References are enough for the foreign keys, so neither the movie nor the user is loaded
+                            review.setMovie(movieService.getMovieReference(movieId));
+                            review.setUser(userRepository.getReferenceById(user.getId()));
+                            // Flushed here so constraint violations surface before the aggregate is touched
+                            Review savedReview = reviewRepository.saveAndFlush(review);
+                            updateRatingStats(savedReview);
+                            eventPublisher.publishEvent(new ReviewSubmittedEvent(
+                                    savedReview.getId(),
+                                    movieId,
+                                    user.getId(),
+                                    savedReview.getRating(),
+                                    savedReview.getTimestamp()
+                            ));
+                            return Optional.of(savedReview);
+                        });
+                    } catch (DataIntegrityViolationException e) {
+                        // Only the review's own constraints mean the review is rejected; anything else is a failure
+                        if (!violatesAny(e, REJECTED_REVIEW_CONSTRAINTS)) {
+                            throw e;
+                        }
+                        log.debug("Rejected review of movie {} by user {}: {}", movieId, user.getId(), e.getMessage());
+                        return Optional.<Review>empty();
+                    }
                 },
                 "ERR_REVIEW_SUBMISSION_FAILED: Failed to submit review"
         );
     }
 
-    public List<Review> getReviewsForMovie(UUID movieId) {
+    private void updateRatingStats(Review review) {
+        int rating = review.getRating();
+        movieRatingStatsRepository.upsertStats(review.getMovieId(), rating, 1, rating, rating, review.getTimestamp());
+    }
+
+    private static boolean violatesAny(DataIntegrityViolationException e, Set<String> constraints) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName() != null && constraints.contains(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns one page of a movie's reviews, newest first. An unknown movie simply has no reviews.
+     *
+     * @param movieId The movie to list reviews for
+     * @param limit   Maximum number of reviews to return
+     * @param after   Cursor of the last review on the previous page, or null for the first page
+     * @return The page of reviews and the cursor for the next page, if there is one
+     */
+    public CursorPage<ReviewSummary> getReviewsForMovie(UUID movieId, int limit, PageCursor after) {
         return executeWithErrorHandling(
-                () -> {
-                    if (!movieService.movieExists(movieId)) {
-                        return List.<Review>of();
+                () -> readOnlyTransactionOperations.execute(status -> {
+                    // Fetch one extra row to find out whether another page exists
+                    Limit fetchLimit = Limit.of(limit + 1);
+                    List<ReviewSummary> results = after == null
+                            ? reviewRepository.findSummariesByMovieId(movieId, fetchLimit)
+                            : reviewRepository.findSummariesByMovieIdAfter(
+                                    movieId, after.getTimestamp(), after.getId(), fetchLimit);
+
+                    List<ReviewSummary> reviews = results.subList(0, Math.min(limit, results.size()));
+
+                    PageCursor nextCursor = null;
+                    if (results.size() > limit) {
+                        ReviewSummary last = reviews.get(reviews.size() - 1);
+                        nextCursor = new PageCursor(last.getTimestamp(), last.getId());
                     }
-                    return reviewRepository.findByMovie_IdOrderByTimestampDesc(movieId);
-                },
-                "ERR_REVIEWS_RETRIEVAL_FAILED: Failed to retrieve reviews for movie"
+
+                    return new CursorPage<>(reviews, nextCursor);
+                }),
+                "ERR_REVIEWS_PAGE_RETRIEVAL_FAILED: Failed to retrieve page of reviews for movie"
         );
     }
 
-    public List<Review> getReviewsByUser(UUID userId) {
+    /**
+     * Returns one page of a user's own reviews, newest first.
+     *
+     * @param userId The author
+     * @param limit  Maximum number of reviews to return
+     * @param after  Cursor of the last review on the previous page, or null for the first page
+     * @return The page of reviews and the cursor for the next page, if there is one
+     */
+    public CursorPage<UserReviewSummary> getReviewsByUser(UUID userId, int limit, PageCursor after) {
         return executeWithErrorHandling(
-                () -> reviewRepository.findByUser_IdOrderByTimestampDesc(userId),
+                () -> readOnlyTransactionOperations.execute(status -> {
+                    // Fetch one extra row to find out whether another page exists
+                    Limit fetchLimit = Limit.of(limit + 1);
+                    List<UserReviewSummary> results = after == null
+                            ? reviewRepository.findSummariesByUserId(userId, fetchLimit)
+                            : reviewRepository.findSummariesByUserIdAfter(
+                                    userId, after.getTimestamp(), after.getId(), fetchLimit);
+
+                    List<UserReviewSummary> reviews = results.subList(0, Math.min(limit, results.size()));
+
+                    PageCursor nextCursor = null;
+                    if (results.size() > limit) {
+                        UserReviewSummary last = reviews.get(reviews.size() - 1);
+                        nextCursor = new PageCursor(last.getTimestamp(), last.getId());
+                    }
+
+                    return new CursorPage<>(reviews, nextCursor);
+                }),
                 "ERR_USER_REVIEWS_RETRIEVAL_FAILED: Failed to retrieve reviews by user"
         );
     }
 
+    /**
+     * Passes every review to {@code action} while rows are still being read from the database through a
+     * forward-only cursor, so heap use does not grow with the number of reviews.
+     *
+     * @param action Called once per review, in no particular order, inside a read-only transaction
+     */
+    public void streamAllReviews(Consumer<ReviewExport> action) {
+        executeWithErrorHandling(
+                () -> {
+                    readOnlyTransactionOperations.executeWithoutResult(status -> {
+                        try (Stream<ReviewExport> reviews = reviewRepository.streamAllForExport()) {
+                            reviews.forEach(action);
+                        }
+                    });
+                    return null;
+                },
+                "ERR_REVIEWS_EXPORT_FAILED: Failed to export reviews"
+        );
+    }
+
     private <T> T executeWithErrorHandling(Supplier<T> operation, String errorMessage) {
         try {
             return operation.get();
@@ -0,0 +1,118 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranks movies by recent review velocity from in-memory {@link DecayingRingCounter}s, one per window per movie,
+ * instead of range scans over reviews.timestamp. Only movies reviewed within the longest window are tracked.
+ * Counts are per instance and start empty on restart.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+    public enum Window {
+        HOUR(Duration.ofMinutes(1), 60),
+        DAY(Duration.ofMinutes(30), 48),
+        WEEK(Duration.ofHours(4), 42);
+
+        private final long bucketMillis;
+        private final int buckets;
+        // Activity at the far edge of the window weighs a quarter of activity now
+        private final double decayPerBucket;
+
+        Window(Duration bucket, int buckets) {
+            this.bucketMillis = bucket.toMillis();
+            this.buckets = buckets;
+            this.decayPerBucket = Math.pow(0.25, 1.0 / buckets);
+        }
+
+        /**
+         * @throws IllegalArgumentException If the name is not a window
+         */
+        public static Window parse(String name) {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final Clock clock;
+    private final Map<UUID, DecayingRingCounter[]> counters = new ConcurrentHashMap<>();
+
+    public TrendingService() {
+        this(Clock.systemUTC());
+    }
+
+    TrendingService(Clock clock) {
+        this.clock = clock;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        record(event.getMovieId());
+    }
+
+    public void record(UUID movieId) {
+        long now = clock.millis();
+        for (DecayingRingCounter counter : counters.computeIfAbsent(movieId, id -> newCounters())) {
+            counter.increment(now);
+        }
+    }
+
+    /**
+     * @param window Window to rank over
+     * @param limit  Maximum number of movies to return
+     * @return Movies with reviews in the window, highest decayed review count first
+     */
+    public List<UUID> top(Window window, int limit) {
+        long now = clock.millis();
+        Comparator<Map.Entry<UUID, Double>> byScore = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<UUID, Double>> best = new PriorityQueue<>(limit + 1, byScore);
+
+        counters.forEach((movieId, movieCounters) -> {
+            double score = movieCounters[window.ordinal()].decayedSum(now, window.decayPerBucket);
+            if (score > 0) {
+                best.add(Map.entry(movieId, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        });
+
+        List<Map.Entry<UUID, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(byScore.reversed());
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${moviereviews.trending.eviction-interval:PT10M}")
+    public void evictIdle() {
+        long now = clock.millis();
+        int before = counters.size();
+        // A review racing this removal can be dropped from trending; it is never dropped from the database
+        counters.entrySet().removeIf(entry -> entry.getValue()[Window.WEEK.ordinal()].isIdle(now));
+        log.debug("Evicted {} idle trending counters", before - counters.size());
+    }
+
+    private DecayingRingCounter[] newCounters() {
+        Window[] windows = Window.values();
+        DecayingRingCounter[] movieCounters = new DecayingRingCounter[windows.length];
+        for (Window window : windows) {
+            movieCounters[window.ordinal()] = new DecayingRingCounter(window.bucketMillis, window.buckets);
+        }
+        return movieCounters;
+    }
+}
@@ -0,0 +1,50 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Argon2CalibratorTest {
+
+    @Test
+    @Timeout(10)
+    void calibrate_TargetAlreadyMet_KeepsConfiguredParameters() {
+        Argon2PasswordEncoder encoder = Argon2Calibrator.calibrate(properties(Duration.ofNanos(1)));
+
+        assertTrue(encoder.encode("password").contains("$m=1024,t=1,p=1$"));
+    }
+
+    @Test
+    @Timeout(10)
+    void calibrate_TargetOutOfReach_RaisesMemoryThenIterationsToTheirLimits() {
+        Argon2PasswordEncoder encoder = Argon2Calibrator.calibrate(properties(Duration.ofHours(1)));
+
+        assertTrue(encoder.encode("password").contains("$m=4096,t=3,p=1$"));
+    }
+
+    @Test
+    @Timeout(10)
+    void upgradeEncoding_HashFromBeforeCalibration_ReportsUpgradeAndStillMatches() {
+        String oldHash = Argon2Calibrator.encoder(1024, 1).encode("password");
+
+        Argon2PasswordEncoder calibrated = Argon2Calibrator.calibrate(properties(Duration.ofHours(1)));
+
+        assertTrue(calibrated.matches("password", oldHash));
+        assertTrue(calibrated.upgradeEncoding(oldHash));
+        assertFalse(calibrated.upgradeEncoding(calibrated.encode("password")));
+    }
+
+    private static Argon2Properties properties(Duration targetLatency) {
+        Argon2Properties properties = new Argon2Properties();
+        properties.setTargetLatency(targetLatency);
+        properties.setMemory(1024);
+        properties.setIterations(1);
+        properties.setMaxMemory(4096);
+        properties.setMaxIterations(3);
+        return properties;
+    }
+}
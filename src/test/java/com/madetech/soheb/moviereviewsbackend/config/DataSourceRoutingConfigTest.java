@@ -0,0 +1,65 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceRoutingConfigTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.getResolvedDataSources().values()
+                .forEach(pool -> ((HikariDataSource) pool).close());
+    }
+
+    @Test
+    @Timeout(10)
+    void replicaRoutingDataSource_HikariSettings_AppliedToPrimaryAndReplicaPools() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7")
+                .withProperty("spring.datasource.hikari.connection-timeout", "4321");
+
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(h2Url("primary"));
+        dataSourceProperties.setUsername("sa");
+        dataSourceProperties.afterPropertiesSet();
+
+        ReplicaRoutingProperties.Replica replica = new ReplicaRoutingProperties.Replica();
+        replica.setUrl(h2Url("replica"));
+        replica.setUsername("sa");
+        ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+        properties.setReplicas(List.of(replica));
+        properties.setLagQuery("SELECT 0");
+
+        routingDataSource = new DataSourceRoutingConfig().replicaRoutingDataSource(dataSourceProperties, properties,
+                new ReadYourWritesTracker(Duration.ofSeconds(10)), environment);
+        routingDataSource.afterPropertiesSet();
+
+        Map<Object, DataSource> pools = routingDataSource.getResolvedDataSources();
+        assertEquals(2, pools.size());
+        for (DataSource dataSource : pools.values()) {
+            HikariDataSource pool = (HikariDataSource) dataSource;
+            assertEquals(7, pool.getMaximumPoolSize(), pool.getPoolName());
+            assertEquals(4321, pool.getConnectionTimeout(), pool.getPoolName());
+        }
+        HikariDataSource replicaPool = (HikariDataSource) pools.get("replica-0");
+        assertEquals(h2Url("replica"), replicaPool.getJdbcUrl());
+        assertTrue(replicaPool.isReadOnly());
+    }
+
+    private static String h2Url(String name) {
+        return "jdbc:h2:mem:routing-config-" + name + ";DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,179 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
+import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
+import com.madetech.soheb.moviereviewsbackend.service.JwtService;
+import com.madetech.soheb.moviereviewsbackend.service.PasswordHashingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Not wrapped in a test transaction, so each lookup runs in its own session and only the second-level cache is shared
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(EntityCacheConfig.class)
+@ActiveProfiles("test")
+class EntityCacheConfigTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @Timeout(30)
+    void loadMovie_SecondLookup_ServedFromCacheWithCredits() {
+        Movie movie = movieRepository.save(new Movie(UUID.randomUUID(), "Cached Movie", List.of("Drama"),
+                List.of("Director"), List.of("Writer"), List.of("Actor"), List.of("Producer"),
+                2020, AgeRating.BBFC_12A, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+        loadMovieWithCredits(movie.getId());
+        statistics.clear();
+
+        Movie cached = loadMovieWithCredits(movie.getId());
+
+        assertEquals("Cached Movie", cached.getName());
+        assertEquals(List.of("Actor"), cached.getCast());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getCacheRegionStatistics("movies").getHitCount());
+        assertEquals(1, statistics.getCacheRegionStatistics("movies.genres").getHitCount());
+        assertEquals(1, statistics.getCacheRegionStatistics("movies.producers").getHitCount());
+    }
+
+    @Test
+    @Timeout(30)
+    void resolveUser_SecondRequest_ServedFromCacheWithoutQuerying() {
+        // resolveUser runs on every authenticated review request, so this is the lookup the users region exists for
+        AuthenticationService authenticationService = new AuthenticationService(userRepository,
+                mock(PasswordHashingService.class), mock(JwtService.class));
+        User user = saveUser();
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.reviewUser(user.getId());
+        assertTrue(authenticationService.resolveUser(principal).isPresent());
+        statistics.clear();
+
+        assertEquals(user.getId(), authenticationService.resolveUser(principal).orElseThrow().getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getCacheRegionStatistics("users").getHitCount());
+    }
+
+    @Test
+    @Timeout(30)
+    void findUserById_AfterRejection_ReturnsRejectedUserWithoutQuerying() {
+        User user = saveUser();
+        assertFalse(userRepository.findById(user.getId()).orElseThrow().isRejected());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User loaded = userRepository.findById(user.getId()).orElseThrow();
+            loaded.setRejected(true);
+        });
+        statistics.clear();
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+
+        // The committed update replaced the cached entry rather than leaving the stale one behind
+        assertTrue(reloaded.isRejected());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getCacheRegionStatistics("users").getHitCount());
+    }
+
+    @Test
+    @Timeout(30)
+    void findUserById_AfterBulkRejection_ReloadsFromDatabase() {
+        User user = saveUser();
+        userRepository.findById(user.getId()).orElseThrow();
+
+        // A bulk update bypasses the entity instances, so Hibernate clears the whole users region on commit
+        int updated = transactionTemplate.execute(status -> EntityManagerFactoryUtils
+                .getTransactionalEntityManager(entityManagerFactory)
+                .createQuery("UPDATE User u SET u.rejected = true WHERE u.id = :id")
+                .setParameter("id", user.getId())
+                .executeUpdate());
+        statistics.clear();
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals(1, updated);
+        assertTrue(reloaded.isRejected());
+        assertEquals(0, statistics.getCacheRegionStatistics("users").getHitCount());
+    }
+
+    @Test
+    @Timeout(30)
+    void updatePasswordHash_AfterConcurrentRejection_KeepsRejection() {
+        User user = saveUser();
+        User loadedAtLogin = userRepository.findById(user.getId()).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User loaded = userRepository.findById(user.getId()).orElseThrow();
+            loaded.setRejected(true);
+        });
+        int updated = userRepository.updatePasswordHash(loadedAtLogin.getId(), "newHash", loadedAtLogin.getPasswordHash());
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals(1, updated);
+        assertEquals("newHash", reloaded.getPasswordHash());
+        assertTrue(reloaded.isRejected());
+        assertEquals(0, userRepository.updatePasswordHash(user.getId(), "otherHash", "hash"));
+    }
+
+    private Movie loadMovieWithCredits(UUID movieId) {
+        return transactionTemplate.execute(status -> {
+            Movie movie = movieRepository.findById(movieId).orElseThrow();
+            // Touch every collection so each is loaded (and on the second pass, read from its own region)
+            movie.getGenres().size();
+            movie.getDirectors().size();
+            movie.getWriters().size();
+            movie.getCast().size();
+            movie.getProducers().size();
+            return movie;
+        });
+    }
+
+    private User saveUser() {
+        String name = "user" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(UUID.randomUUID(), name, name + "@example.com", "hash",
+                LocalDate.of(1990, 1, 1), false, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import com.madetech.soheb.moviereviewsbackend.controller.UserController;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
+import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
+import com.madetech.soheb.moviereviewsbackend.service.FilmTokenAuthenticationService;
+import com.madetech.soheb.moviereviewsbackend.service.JwtService;
+import com.madetech.soheb.moviereviewsbackend.service.ReviewService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs real tokens through the authentication filters into a controller. Each verified-claims cache miss is one
+ * RS512 signature verification, so the cache counters show how often a request verified its credentials.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String FILM_TOKEN = "film-token";
+
+    private JwtService jwtService;
+    private AuthenticationService authenticationService;
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        JwtProperties properties = new JwtProperties(null);
+        properties.setPrivatekey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        properties.setPublickey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+        jwtService = new JwtService(properties, 100);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService.bindTo(meterRegistry);
+
+        FilmTokenAuthenticationService filmTokenAuthenticationService = mock(FilmTokenAuthenticationService.class);
+        when(filmTokenAuthenticationService.isValidToken(FILM_TOKEN)).thenReturn(true);
+
+        authenticationService = mock(AuthenticationService.class);
+        ReviewService reviewService = mock(ReviewService.class);
+        when(reviewService.getReviewsByUser(any(), anyInt(), any())).thenReturn(new CursorPage<>(List.of(), null));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(authenticationService, reviewService))
+                .addFilters(new FilmTokenAuthenticationFilter(filmTokenAuthenticationService),
+                        new JwtAuthenticationFilter(jwtService))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @Timeout(10)
+    void reviewUserRequest_VerifiesTokenOnceAndControllerReusesPrincipal() throws Exception {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        when(authenticationService.resolveUser(AuthenticatedPrincipal.reviewUser(user.getId())))
+                .thenReturn(Optional.of(user));
+        String token = jwtService.generateToken(user.getId());
+
+        perform(token);
+
+        // One lookup in total: the filter's, which missed and verified; the controller did not check the token
+        assertEquals(1.0, cacheGets("miss"));
+        assertEquals(0.0, cacheGets("hit"));
+
+        perform(token);
+
+        // A repeat request from the same client does no verification at all
+        assertEquals(1.0, cacheGets("miss"));
+        assertEquals(1.0, cacheGets("hit"));
+    }
+
+    @Test
+    @Timeout(10)
+    void filmTokenRequest_NeverReachesJwtVerification() throws Exception {
+        mockMvc.perform(get("/v1/users/me/reviews").header("X-API-AUTH", FILM_TOKEN))
+                .andExpect(status().isUnauthorized());
+
+        assertEquals(0.0, cacheGets("miss"));
+        assertEquals(0.0, cacheGets("hit"));
+    }
+
+    private void perform(String token) throws Exception {
+        mockMvc.perform(get("/v1/users/me/reviews").header("X-API-AUTH", token))
+                .andExpect(status().isOk());
+        // The security filter chain clears the context after each request; there is no chain here
+        SecurityContextHolder.clearContext();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", result)
+                .functionCounter().count();
+    }
+}
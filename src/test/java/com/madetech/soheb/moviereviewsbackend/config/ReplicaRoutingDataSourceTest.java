@@ -0,0 +1,172 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    // Replicas report their lag from this table so each test can move them behind the primary
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private ReadYourWritesTracker readYourWritesTracker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        readYourWritesTracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                readYourWritesTracker, Duration.ofSeconds(5), LAG_QUERY);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    @Timeout(10)
+    void readOnlyTransaction_RoutedToReplica() {
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    @Timeout(10)
+    void readWriteTransactionAndNoTransaction_RoutedToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> whichDatabase()));
+        assertEquals("primary", whichDatabase());
+    }
+
+    @Test
+    @Timeout(10)
+    void newReadWriteTransaction_RoutedToPrimaryEvenAroundReadOnlyWork() {
+        // How the movie catalog reads back what was just committed: a new read-write transaction, which read-only
+        // work run inside it joins rather than sending to a replica
+        TransactionTemplate primaryReads = new TransactionTemplate(readWrite.getTransactionManager());
+        primaryReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertEquals("primary", readOnly.execute(outer ->
+                primaryReads.execute(status -> readOnly.execute(inner -> whichDatabase()))));
+    }
+
+    @Test
+    @Timeout(10)
+    void replicaBeyondLagTolerance_ReadsFallBackToPrimaryUntilItCatchesUp() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+        routingDataSource.checkReplicaLag();
+
+        assertEquals("primary", readOnly.execute(status -> whichDatabase()));
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+        routingDataSource.checkReplicaLag();
+
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    @Timeout(10)
+    void replicaWithUnknownLag_ReadsFallBackToPrimary() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = NULL");
+        routingDataSource.checkReplicaLag();
+
+        assertEquals("primary", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    @Timeout(10)
+    void unreachableReplica_ReadsFallBackToPrimary() {
+        new JdbcTemplate(replica).execute("DROP TABLE replica_lag");
+        routingDataSource.checkReplicaLag();
+
+        assertEquals("primary", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    @Timeout(10)
+    void userWhoJustSubmittedReview_ReadsOwnWritesFromPrimary() {
+        UUID writer = UUID.randomUUID();
+        readYourWritesTracker.onReviewSubmitted(new ReviewSubmittedEvent(
+                UUID.randomUUID(), UUID.randomUUID(), writer, 7, LocalDateTime.now()));
+
+        authenticateAs(writer);
+        assertEquals("primary", readOnly.execute(status -> whichDatabase()));
+
+        authenticateAs(UUID.randomUUID());
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    @Timeout(10)
+    void stickinessExpires_ReadsReturnToReplica() {
+        UUID writer = UUID.randomUUID();
+        ReadYourWritesTracker expired = new ReadYourWritesTracker(Duration.ZERO);
+        expired.recordWrite(writer.toString());
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                expired, Duration.ofSeconds(5), LAG_QUERY);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+
+        authenticateAs(writer);
+        assertEquals("replica", template.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT name FROM whoami", String.class)));
+    }
+
+    private String whichDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private void authenticateAs(UUID userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId.toString(), null, Collections.emptyList()));
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
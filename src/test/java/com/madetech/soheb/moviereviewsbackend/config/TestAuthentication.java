@@ -0,0 +1,34 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+
+/**
+ * Authenticates a MockMvc request as the filters would, with an {@link AuthenticatedPrincipal} as the principal.
+ */
+public final class TestAuthentication {
+
+    private TestAuthentication() {
+    }
+
+    public static RequestPostProcessor filmSubmitter() {
+        return as(AuthenticatedPrincipal.filmSubmitter(false));
+    }
+
+    public static RequestPostProcessor admin() {
+        return as(AuthenticatedPrincipal.filmSubmitter(true));
+    }
+
+    public static RequestPostProcessor reviewUser(UUID userId) {
+        return as(AuthenticatedPrincipal.reviewUser(userId));
+    }
+
+    private static RequestPostProcessor as(AuthenticatedPrincipal principal) {
+        return authentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.madetech.soheb.moviereviewsbackend.config;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.exception.spi.TemplatedViolatedConstraintNameExtractor;
+import org.hibernate.exception.spi.ViolatedConstraintNameExtractor;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * H2 dialect that reports violated constraints by the name the Liquibase changelog gives them, as PostgreSQL does.
+ * H2 quotes the schema-qualified, upper-cased backing index ("PUBLIC.UQ_X_INDEX_6 ON ...") or the bare name
+ * ("FK_X: PUBLIC..."), which the stock dialect passes on as is, or with its first character cut off.
+ */
+public class TestH2Dialect extends H2Dialect {
+
+    private static final Pattern CONSTRAINT_NAME = Pattern.compile("\"(?:PUBLIC\\.)?([A-Z0-9_]+?)(?:_INDEX_[0-9A-F]+)?[ :\"]");
+
+    private static final ViolatedConstraintNameExtractor EXTRACTOR = new TemplatedViolatedConstraintNameExtractor(e -> {
+        Matcher matcher = CONSTRAINT_NAME.matcher(e.getMessage());
+        return matcher.find() ? matcher.group(1).toLowerCase(Locale.ROOT) : null;
+    });
+
+    @Override
+    public ViolatedConstraintNameExtractor getViolatedConstraintNameExtractor() {
+        return EXTRACTOR;
+    }
+}
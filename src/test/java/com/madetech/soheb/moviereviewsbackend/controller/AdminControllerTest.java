@@ -0,0 +1,209 @@
+package com.madetech.soheb.moviereviewsbackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madetech.soheb.moviereviewsbackend.config.TestSecurityConfig;
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewExport;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewImportProgress;
+import com.madetech.soheb.moviereviewsbackend.service.MovieService;
+import com.madetech.soheb.moviereviewsbackend.service.ReviewImportService;
+import com.madetech.soheb.moviereviewsbackend.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static com.madetech.soheb.moviereviewsbackend.config.TestAuthentication.admin;
+import static com.madetech.soheb.moviereviewsbackend.config.TestAuthentication.filmSubmitter;
+import static com.madetech.soheb.moviereviewsbackend.config.TestAuthentication.reviewUser;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = AdminController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = {
+                        com.madetech.soheb.moviereviewsbackend.config.SecurityConfig.class,
+                        com.madetech.soheb.moviereviewsbackend.config.JwtProperties.class,
+                        com.madetech.soheb.moviereviewsbackend.config.JwtAuthenticationFilter.class,
+                        com.madetech.soheb.moviereviewsbackend.config.FilmTokenAuthenticationFilter.class,
+                        com.madetech.soheb.moviereviewsbackend.config.RateLimitFilter.class,
+                        com.madetech.soheb.moviereviewsbackend.config.SecurityHeadersFilter.class
+                }
+        )
+)
+@Import(TestSecurityConfig.class)
+@ActiveProfiles("test")
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReviewImportService reviewImportService;
+
+    @MockBean
+    private MovieService movieService;
+
+    @MockBean
+    private ReviewService reviewService;
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void importReviews_AdminToken_StreamsProgressThenFinalTotals() throws Exception {
+        when(reviewImportService.importReviews(any(InputStream.class), any())).thenAnswer(invocation -> {
+            Consumer<ReviewImportProgress> progress = invocation.getArgument(1);
+            progress.accept(new ReviewImportProgress(1000, 998, 2, false, List.of("line 7: unknown user")));
+            return new ReviewImportProgress(1500, 1497, 3, true, List.of("line 7: unknown user"));
+        });
+
+        mockMvc.perform(post("/v1/admin/reviews/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n")
+                        .with(admin())
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"processed\":1000,\"imported\":998,\"rejected\":2,\"done\":false,\"errors\":[\"line 7: unknown user\"]}\n"
+                        + "{\"processed\":1500,\"imported\":1497,\"rejected\":3,\"done\":true,\"errors\":[\"line 7: unknown user\"]}\n"));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void importReviews_NonAdminToken_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/v1/admin/reviews/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n")
+                        .with(filmSubmitter())
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verify(reviewImportService, never()).importReviews(any(), any());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void exportReviews_AdminToken_WritesOneLinePerReview() throws Exception {
+        UUID movieId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        ReviewExport first = new ReviewExport(UUID.randomUUID(), movieId, userId, 8, "Great",
+                LocalDateTime.of(2024, 5, 1, 12, 0));
+        ReviewExport second = new ReviewExport(UUID.randomUUID(), movieId, userId, 3, "Poor",
+                LocalDateTime.of(2024, 5, 2, 12, 0));
+
+        doAnswer(invocation -> {
+            Consumer<ReviewExport> action = invocation.getArgument(0);
+            action.accept(first);
+            action.accept(second);
+            return null;
+        }).when(reviewService).streamAllReviews(any());
+
+        MvcResult result = mockMvc.perform(get("/v1/admin/export/reviews")
+                        .with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first, objectMapper.readValue(lines[0], ReviewExport.class));
+        assertEquals(second, objectMapper.readValue(lines[1], ReviewExport.class));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void exportMovies_AcceptsGzip_WritesCompressedBody() throws Exception {
+        MovieWithRating movie = new MovieWithRating(UUID.randomUUID(), "Exported Movie", List.of("Drama"),
+                List.of("Director"), List.of("Writer"), List.of("Actor"), List.of("Producer"), 2020,
+                AgeRating.BBFC_12A, LocalDateTime.of(2024, 1, 1, 0, 0), 7.5, 2L);
+
+        doAnswer(invocation -> {
+            Consumer<MovieWithRating> action = invocation.getArgument(0);
+            action.accept(movie);
+            return null;
+        }).when(movieService).streamAllMovies(any());
+
+        MvcResult result = mockMvc.perform(get("/v1/admin/export/movies")
+                        .with(admin())
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream body = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String content = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(content.endsWith("\n"));
+            assertEquals(movie, objectMapper.readValue(content.trim(), MovieWithRating.class));
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void exportMovies_NonAdminToken_ReturnsForbidden() throws Exception {
+        mockMvc.perform(get("/v1/admin/export/movies")
+                        .with(filmSubmitter()))
+                .andExpect(status().isForbidden());
+
+        verify(movieService, never()).streamAllMovies(any());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void exportReviews_ReviewUserToken_ReturnsForbidden() throws Exception {
+        mockMvc.perform(get("/v1/admin/export/reviews")
+                        .with(reviewUser(UUID.randomUUID())))
+                .andExpect(status().isForbidden());
+
+        verify(reviewService, never()).streamAllReviews(any());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void exportMovies_NoToken_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(get("/v1/admin/export/movies"))
+                .andExpect(status().isUnauthorized());
+
+        verify(movieService, never()).streamAllMovies(any());
+    }
+}
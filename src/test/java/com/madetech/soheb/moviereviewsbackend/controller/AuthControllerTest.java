@@ -5,6 +5,7 @@ import com.madetech.soheb.moviereviewsbackend.config.TestSecurityConfig;
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserLoginRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserRegistrationRequest;
+import com.madetech.soheb.moviereviewsbackend.data.exceptions.HashingCapacityExceededException;
 import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -24,6 +25,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -222,4 +224,25 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.results").isEmpty())
                 .andExpect(jsonPath("$.error.code").value(1004L));
     }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void login_HashingQueueFull_ReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        UserLoginRequest request = new UserLoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("StrongP@ss123!");
+
+        when(authenticationService.authenticateUser(any(UserLoginRequest.class)))
+                .thenThrow(new HashingCapacityExceededException(Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(csrf()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error.code").value(1007L));
+    }
 }
\ No newline at end of file
@@ -1,17 +1,28 @@
 package com.madetech.soheb.moviereviewsbackend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.madetech.soheb.moviereviewsbackend.config.AuthenticatedPrincipal;
 import com.madetech.soheb.moviereviewsbackend.config.TestSecurityConfig;
 import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
 import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
 import com.madetech.soheb.moviereviewsbackend.data.database.Review;
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.JsonPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFacetCounts;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFilter;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieSubmissionRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
 import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSubmissionRequest;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary;
 import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
+import com.madetech.soheb.moviereviewsbackend.service.MovieCatalogService;
 import com.madetech.soheb.moviereviewsbackend.service.MovieService;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
+import com.madetech.soheb.moviereviewsbackend.service.ResourceVersionService;
 import com.madetech.soheb.moviereviewsbackend.service.ReviewService;
+import com.madetech.soheb.moviereviewsbackend.service.TrendingService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,11 +41,19 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.madetech.soheb.moviereviewsbackend.config.TestAuthentication.filmSubmitter;
+import static com.madetech.soheb.moviereviewsbackend.config.TestAuthentication.reviewUser;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -53,7 +72,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 }
         )
 )
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, ResourceVersionService.class})
 @ActiveProfiles("test")
 class MovieControllerTest {
 
@@ -69,9 +88,18 @@ class MovieControllerTest {
     @MockBean
     private AuthenticationService authenticationService;
 
+    @MockBean
+    private MovieCatalogService movieCatalogService;
+
+    @MockBean
+    private TrendingService trendingService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @Test
     @Timeout(5)
     @WithMockUser
@@ -90,13 +118,12 @@ class MovieControllerTest {
         movie.setId(UUID.randomUUID());
         movie.setName("Test Movie");
 
-        when(authenticationService.validateFilmToken("validtoken")).thenReturn(true);
         when(movieService.submitMovie(any(MovieSubmissionRequest.class))).thenReturn(Optional.of(movie));
 
         mockMvc.perform(post("/v1/movies/submit")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request))
-                        .header("X-API-AUTH", "validtoken")
+                        .with(filmSubmitter())
                         .with(csrf()))
                 .andExpect(status().isOk());
     }
@@ -115,8 +142,6 @@ class MovieControllerTest {
         request.setReleaseYear(2023);
         request.setAgeRating(AgeRating.BBFC_15);
 
-        when(authenticationService.validateFilmToken("invalidtoken")).thenReturn(false);
-
         mockMvc.perform(post("/v1/movies/submit")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request))
@@ -137,16 +162,92 @@ class MovieControllerTest {
         request.setCast(List.of());
         request.setProducers(List.of());
 
-        when(authenticationService.validateFilmToken("validtoken")).thenReturn(true);
-
         mockMvc.perform(post("/v1/movies/submit")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request))
-                        .header("X-API-AUTH", "validtoken")
+                        .with(filmSubmitter())
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void submitMovies_MixedBatch_SavesValidItemsAndReportsInvalidOnes() throws Exception {
+        MovieSubmissionRequest valid = new MovieSubmissionRequest("Test Movie", List.of("Action"),
+                List.of("Test Director"), List.of("Test Writer"), List.of("Test Actor"), List.of("Test Producer"),
+                2023, AgeRating.BBFC_15);
+        MovieSubmissionRequest invalid = new MovieSubmissionRequest("", List.of("Action"),
+                List.of("Test Director"), List.of("Test Writer"), List.of("Test Actor"), List.of("Test Producer"),
+                1800, AgeRating.BBFC_15);
+
+        Movie movie = new Movie();
+        movie.setId(UUID.randomUUID());
+        movie.setName("Test Movie");
+
+        when(movieService.submitMovies(List.of(valid))).thenReturn(List.of(movie));
+
+        mockMvc.perform(post("/v1/movies/submit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(invalid, valid)))
+                        .with(filmSubmitter())
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].errors[0]").value("name"))
+                .andExpect(jsonPath("$[0].errors[1]").value("releaseYear"))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].id").value(movie.getId().toString()))
+                .andExpect(jsonPath("$[1].errors").isEmpty());
+
+        verify(movieService).submitMovies(List.of(valid));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void submitMovies_AllInvalid_DoesNotCallService() throws Exception {
+        MovieSubmissionRequest invalid = new MovieSubmissionRequest();
+        invalid.setName("Test Movie");
+
+        mockMvc.perform(post("/v1/movies/submit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(invalid)))
+                        .with(filmSubmitter())
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].errors").isNotEmpty());
+
+        verify(movieService, never()).submitMovies(any());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void submitMovies_EmptyBatch_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/v1/movies/submit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .with(filmSubmitter())
                         .with(csrf()))
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void submitMovies_InvalidToken_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(post("/v1/movies/submit/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .header("X-API-AUTH", "invalidtoken")
+                        .with(csrf()))
+                .andExpect(status().isUnauthorized());
+
+        verify(movieService, never()).submitMovies(any());
+    }
+
     @Test
     @Timeout(5)
     @WithMockUser
@@ -162,16 +263,186 @@ class MovieControllerTest {
         movie2.setAverageRating(7.2);
 
         List<MovieWithRating> movies = Arrays.asList(movie1, movie2);
-        when(movieService.getAllMoviesWithRating()).thenReturn(movies);
+        when(movieCatalogService.getPage(eq(20), isNull(), eq(MovieFilter.none())))
+                .thenReturn(new JsonPage(objectMapper.writeValueAsBytes(movies), null));
 
         mockMvc.perform(get("/v1/movies"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$[0].name").value("Movie 1"))
                 .andExpect(jsonPath("$[0].averageRating").value(8.5))
                 .andExpect(jsonPath("$[1].name").value("Movie 2"))
                 .andExpect(jsonPath("$[1].averageRating").value(7.2));
     }
 
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getAllMovies_WithCursor_ReturnsNextCursorHeader() throws Exception {
+        MovieWithRating movie = new MovieWithRating();
+        movie.setId(UUID.randomUUID());
+        movie.setName("Movie 1");
+
+        PageCursor after = new PageCursor(LocalDateTime.of(2024, 1, 2, 3, 4, 5), UUID.randomUUID());
+        PageCursor next = new PageCursor(LocalDateTime.of(2024, 1, 1, 0, 0, 0), movie.getId());
+        when(movieCatalogService.getPage(1, after, MovieFilter.none()))
+                .thenReturn(new JsonPage(objectMapper.writeValueAsBytes(List.of(movie)), next));
+
+        mockMvc.perform(get("/v1/movies")
+                        .param("limit", "1")
+                        .param("after", after.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", next.encode()))
+                .andExpect(jsonPath("$[0].name").value("Movie 1"));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getAllMovies_LimitOutOfRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/movies").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+
+        verify(movieCatalogService, never()).getPage(any(Integer.class), any(), any());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getAllMovies_MalformedCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/movies").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getAllMovies_WithFacetFilter_PassesFilterAndVariesETag() throws Exception {
+        MovieFilter filter = new MovieFilter(List.of("Drama", "Crime"), List.of(AgeRating.BBFC_15), 1990, 1999);
+        when(movieCatalogService.getPage(20, null, filter)).thenReturn(new JsonPage("[]".getBytes(), null));
+        when(movieCatalogService.getPage(eq(20), isNull(), eq(MovieFilter.none())))
+                .thenReturn(new JsonPage("[]".getBytes(), null));
+
+        String filteredETag = mockMvc.perform(get("/v1/movies")
+                        .param("genre", "Drama", "Crime")
+                        .param("ageRating", "BBFC_15")
+                        .param("yearFrom", "1990")
+                        .param("yearTo", "1999"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String unfilteredETag = mockMvc.perform(get("/v1/movies"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        verify(movieCatalogService).getPage(20, null, filter);
+        assertNotEquals(unfilteredETag, filteredETag);
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getAllMovies_InvalidFacetFilter_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/movies").param("yearFrom", "2000").param("yearTo", "1990"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v1/movies").param("ageRating", "NOT_A_RATING"))
+                .andExpect(status().isBadRequest());
+
+        verify(movieCatalogService, never()).getPage(any(Integer.class), any(), any());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getMovieFacets_ReturnsCountsForFilter() throws Exception {
+        MovieFilter filter = new MovieFilter(List.of("Drama"), List.of(), null, null);
+        when(movieCatalogService.getFacetCounts(filter)).thenReturn(new MovieFacetCounts(
+                2, Map.of("Drama", 2, "Crime", 1), Map.of(AgeRating.BBFC_15, 2), Map.of(1995, 2)));
+
+        mockMvc.perform(get("/v1/movies/facets").param("genre", "Drama"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.genres.Crime").value(1))
+                .andExpect(jsonPath("$.ageRatings.BBFC_15").value(2))
+                .andExpect(jsonPath("$.releaseYears.1995").value(2));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getTopRatedMovies_ReturnsLeaderboardForGenre() throws Exception {
+        MovieWithRating movie = new MovieWithRating();
+        movie.setId(UUID.randomUUID());
+        movie.setName("Heat");
+        movie.setAverageRating(9.1);
+        movie.setReviewCount(120);
+        when(movieCatalogService.getTopRated("Crime", 3)).thenReturn(objectMapper.writeValueAsBytes(List.of(movie)));
+
+        mockMvc.perform(get("/v1/movies/top").param("genre", "Crime").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Heat"))
+                .andExpect(jsonPath("$[0].reviewCount").value(120));
+
+        mockMvc.perform(get("/v1/movies/top").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getTrendingMovies_ReturnsCatalogMoviesInTrendingOrder() throws Exception {
+        MovieWithRating movie = new MovieWithRating();
+        movie.setId(UUID.randomUUID());
+        movie.setName("Heat");
+        when(trendingService.top(TrendingService.Window.HOUR, 5)).thenReturn(List.of(movie.getId()));
+        when(movieCatalogService.getMovies(List.of(movie.getId())))
+                .thenReturn(objectMapper.writeValueAsBytes(List.of(movie)));
+
+        mockMvc.perform(get("/v1/movies/trending").param("window", "hour").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Heat"));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getTrendingMovies_UnknownWindow_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/movies/trending").param("window", "fortnight"))
+                .andExpect(status().isBadRequest());
+
+        verify(trendingService, never()).top(any(), any(Integer.class));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void searchMovies_ReturnsMatchesFromCatalog() throws Exception {
+        MovieWithRating movie = new MovieWithRating();
+        movie.setId(UUID.randomUUID());
+        movie.setName("Heat");
+        when(movieCatalogService.search("heat pacino", 5))
+                .thenReturn(objectMapper.writeValueAsBytes(List.of(movie)));
+
+        mockMvc.perform(get("/v1/movies/search").param("q", "heat pacino").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value("Heat"));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void searchMovies_InvalidQueryOrLimit_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/movies/search").param("q", " - "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v1/movies/search").param("q", "x".repeat(201)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v1/movies/search").param("q", "heat").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(movieCatalogService, never()).search(any(), any(Integer.class));
+    }
+
     @Test
     @Timeout(5)
     @WithMockUser
@@ -196,14 +467,15 @@ class MovieControllerTest {
         review.setMovie(movie);
         review.setUser(user);
 
-        when(authenticationService.validateJwtToken("validjwt")).thenReturn(Optional.of(user));
+        when(authenticationService.resolveUser(AuthenticatedPrincipal.reviewUser(user.getId())))
+                .thenReturn(Optional.of(user));
         when(reviewService.submitReview(eq(movieId), any(ReviewSubmissionRequest.class), eq(user)))
                 .thenReturn(Optional.of(review));
 
         mockMvc.perform(post("/v1/movies/" + movieId + "/review/submit")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request))
-                        .header("X-API-AUTH", "validjwt")
+                        .with(reviewUser(user.getId()))
                         .with(csrf()))
                 .andExpect(status().isOk());
     }
@@ -218,8 +490,6 @@ class MovieControllerTest {
         request.setRating(8);
         request.setDescription("Great movie!");
 
-        when(authenticationService.validateJwtToken("invalidjwt")).thenReturn(Optional.empty());
-
         mockMvc.perform(post("/v1/movies/" + movieId + "/review/submit")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request))
@@ -242,12 +512,13 @@ class MovieControllerTest {
         User user = new User();
         user.setId(userId);
 
-        when(authenticationService.validateJwtToken("validjwt")).thenReturn(Optional.of(user));
+        when(authenticationService.resolveUser(AuthenticatedPrincipal.reviewUser(user.getId())))
+                .thenReturn(Optional.of(user));
 
         mockMvc.perform(post("/v1/movies/" + movieId + "/review/submit")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request))
-                        .header("X-API-AUTH", "validjwt")
+                        .with(reviewUser(user.getId()))
                         .with(csrf()))
                 .andExpect(status().isBadRequest());
     }
@@ -257,33 +528,110 @@ class MovieControllerTest {
     @WithMockUser
     void getMovieReviews_ReturnsReviewList() throws Exception {
         UUID movieId = UUID.randomUUID();
-        
-        Movie movie = new Movie();
-        movie.setId(movieId);
-        movie.setName("Test Movie");
-
-        Review review1 = new Review();
-        review1.setId(UUID.randomUUID());
-        review1.setMovie(movie);
-        review1.setRating(8);
-        review1.setDescription("Great movie!");
-        review1.setTimestamp(LocalDateTime.now());
-        
-        Review review2 = new Review();
-        review2.setId(UUID.randomUUID());
-        review2.setMovie(movie);
-        review2.setRating(6);
-        review2.setDescription("Ok movie");
-        review2.setTimestamp(LocalDateTime.now());
+        ReviewSummary review1 = new ReviewSummary(UUID.randomUUID(), 8, "Great movie!", LocalDateTime.now(), "alice");
+        ReviewSummary review2 = new ReviewSummary(UUID.randomUUID(), 6, "Ok movie", LocalDateTime.now(), "bob");
 
-        List<Review> reviews = Arrays.asList(review1, review2);
-        when(reviewService.getReviewsForMovie(movieId)).thenReturn(reviews);
+        PageCursor next = new PageCursor(review2.getTimestamp(), review2.getId());
+        when(reviewService.getReviewsForMovie(movieId, 20, null)).thenReturn(new CursorPage<>(List.of(review1, review2), next));
 
         mockMvc.perform(get("/v1/movies/" + movieId + "/reviews"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", next.encode()))
                 .andExpect(jsonPath("$[0].rating").value(8))
                 .andExpect(jsonPath("$[0].description").value("Great movie!"))
                 .andExpect(jsonPath("$[1].rating").value(6))
-                .andExpect(jsonPath("$[1].description").value("Ok movie"));
+                .andExpect(jsonPath("$[1].description").value("Ok movie"))
+                .andExpect(jsonPath("$[0].username").value("alice"))
+                .andExpect(jsonPath("$[0].user").doesNotExist())
+                .andExpect(jsonPath("$[0].movie").doesNotExist());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getAllMovies_MatchingETag_ReturnsNotModifiedWithoutReadingCatalog() throws Exception {
+        when(movieCatalogService.getVersion()).thenReturn(3L);
+        when(movieCatalogService.getPage(eq(20), isNull(), eq(MovieFilter.none()))).thenReturn(new JsonPage("[]".getBytes(), null));
+
+        String eTag = mockMvc.perform(get("/v1/movies"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/v1/movies").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        verify(movieCatalogService, times(1)).getPage(eq(20), isNull(), eq(MovieFilter.none()));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getAllMovies_CatalogChanged_ReturnsNewETag() throws Exception {
+        when(movieCatalogService.getVersion()).thenReturn(3L, 4L);
+        when(movieCatalogService.getPage(eq(20), isNull(), eq(MovieFilter.none()))).thenReturn(new JsonPage("[]".getBytes(), null));
+
+        String eTag = mockMvc.perform(get("/v1/movies"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/v1/movies").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getMovieReviews_MatchingETag_ReturnsNotModifiedUntilReviewSubmitted() throws Exception {
+        UUID movieId = UUID.randomUUID();
+        when(reviewService.getReviewsForMovie(movieId, 20, null)).thenReturn(new CursorPage<>(List.of(), null));
+
+        String eTag = mockMvc.perform(get("/v1/movies/" + movieId + "/reviews"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/v1/movies/" + movieId + "/reviews").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        verify(reviewService, times(1)).getReviewsForMovie(movieId, 20, null);
+
+        resourceVersionService.onReviewSubmitted(new ReviewSubmittedEvent(
+                UUID.randomUUID(), movieId, UUID.randomUUID(), 7, LocalDateTime.now()));
+
+        mockMvc.perform(get("/v1/movies/" + movieId + "/reviews").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+        verify(reviewService, times(2)).getReviewsForMovie(movieId, 20, null);
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getMovieReviews_WithCursor_PassesCursorToService() throws Exception {
+        UUID movieId = UUID.randomUUID();
+        PageCursor after = new PageCursor(LocalDateTime.of(2024, 1, 2, 3, 4, 5), UUID.randomUUID());
+        ReviewSummary review = new ReviewSummary(UUID.randomUUID(), 5, "Fine", LocalDateTime.of(2024, 1, 1, 0, 0), "carol");
+        when(reviewService.getReviewsForMovie(movieId, 1, after)).thenReturn(new CursorPage<>(List.of(review), null));
+
+        mockMvc.perform(get("/v1/movies/" + movieId + "/reviews")
+                        .param("limit", "1")
+                        .param("after", after.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].username").value("carol"));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getMovieReviews_InvalidPaging_ReturnsBadRequest() throws Exception {
+        UUID movieId = UUID.randomUUID();
+
+        mockMvc.perform(get("/v1/movies/" + movieId + "/reviews").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v1/movies/" + movieId + "/reviews").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(reviewService, never()).getReviewsForMovie(any(), any(Integer.class), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.madetech.soheb.moviereviewsbackend.controller;
+
+import com.madetech.soheb.moviereviewsbackend.config.AuthenticatedPrincipal;
+import com.madetech.soheb.moviereviewsbackend.config.TestSecurityConfig;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
+import com.madetech.soheb.moviereviewsbackend.data.controller.UserReviewSummary;
+import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
+import com.madetech.soheb.moviereviewsbackend.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.madetech.soheb.moviereviewsbackend.config.TestAuthentication.reviewUser;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = UserController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = {
+                        com.madetech.soheb.moviereviewsbackend.config.SecurityConfig.class,
+                        com.madetech.soheb.moviereviewsbackend.config.JwtProperties.class,
+                        com.madetech.soheb.moviereviewsbackend.config.JwtAuthenticationFilter.class,
+                        com.madetech.soheb.moviereviewsbackend.config.FilmTokenAuthenticationFilter.class,
+                        com.madetech.soheb.moviereviewsbackend.config.RateLimitFilter.class,
+                        com.madetech.soheb.moviereviewsbackend.config.SecurityHeadersFilter.class
+                }
+        )
+)
+@Import(TestSecurityConfig.class)
+@ActiveProfiles("test")
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReviewService reviewService;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getMyReviews_ValidToken_ReturnsPageWithNextCursor() throws Exception {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        UserReviewSummary review = new UserReviewSummary(UUID.randomUUID(), UUID.randomUUID(), "Test Movie", 8,
+                "Great movie!", LocalDateTime.of(2024, 5, 1, 12, 0));
+        PageCursor next = new PageCursor(review.getTimestamp(), review.getId());
+
+        when(authenticationService.resolveUser(AuthenticatedPrincipal.reviewUser(user.getId())))
+                .thenReturn(Optional.of(user));
+        when(reviewService.getReviewsByUser(user.getId(), 1, null)).thenReturn(new CursorPage<>(List.of(review), next));
+
+        mockMvc.perform(get("/v1/users/me/reviews")
+                        .param("limit", "1")
+                        .with(reviewUser(user.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", next.encode()))
+                .andExpect(jsonPath("$[0].movieName").value("Test Movie"))
+                .andExpect(jsonPath("$[0].rating").value(8));
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getMyReviews_WithCursor_PassesDecodedCursor() throws Exception {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        PageCursor after = new PageCursor(LocalDateTime.of(2024, 5, 1, 12, 0), UUID.randomUUID());
+
+        when(authenticationService.resolveUser(AuthenticatedPrincipal.reviewUser(user.getId())))
+                .thenReturn(Optional.of(user));
+        when(reviewService.getReviewsByUser(user.getId(), 20, after)).thenReturn(new CursorPage<>(List.of(), null));
+
+        mockMvc.perform(get("/v1/users/me/reviews")
+                        .param("after", after.encode())
+                        .with(reviewUser(user.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getMyReviews_InvalidToken_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(get("/v1/users/me/reviews")
+                        .header("X-API-AUTH", "invalidjwt"))
+                .andExpect(status().isUnauthorized());
+
+        verify(reviewService, never()).getReviewsByUser(any(), anyInt(), any());
+    }
+
+    @Test
+    @Timeout(5)
+    @WithMockUser
+    void getMyReviews_InvalidLimitOrCursor_ReturnsBadRequest() throws Exception {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        when(authenticationService.resolveUser(AuthenticatedPrincipal.reviewUser(user.getId())))
+                .thenReturn(Optional.of(user));
+
+        mockMvc.perform(get("/v1/users/me/reviews")
+                        .param("limit", "101")
+                        .with(reviewUser(user.getId())))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/v1/users/me/reviews")
+                        .param("after", "not-a-cursor")
+                        .with(reviewUser(user.getId())))
+                .andExpect(status().isBadRequest());
+
+        verify(reviewService, never()).getReviewsByUser(eq(user.getId()), anyInt(), any());
+    }
+}
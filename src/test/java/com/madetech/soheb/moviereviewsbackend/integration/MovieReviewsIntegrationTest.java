@@ -5,17 +5,22 @@ import com.madetech.soheb.moviereviewsbackend.config.TestSecurityConfig;
 import com.madetech.soheb.moviereviewsbackend.controller.AuthController;
 import com.madetech.soheb.moviereviewsbackend.controller.MovieController;
 import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieSubmissionRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
 import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSubmissionRequest;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserLoginRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserRegistrationRequest;
 import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
 import com.madetech.soheb.moviereviewsbackend.data.database.Review;
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
 import com.madetech.soheb.moviereviewsbackend.service.AuthenticationService;
+import com.madetech.soheb.moviereviewsbackend.service.MovieCatalogService;
 import com.madetech.soheb.moviereviewsbackend.service.MovieService;
+import com.madetech.soheb.moviereviewsbackend.service.ResourceVersionService;
 import com.madetech.soheb.moviereviewsbackend.service.ReviewService;
+import com.madetech.soheb.moviereviewsbackend.service.TrendingService;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -41,7 +46,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest({AuthController.class, MovieController.class})
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, ResourceVersionService.class, TrendingService.class})
 class MovieReviewsIntegrationTest {
 
     @Autowired
@@ -59,6 +64,9 @@ class MovieReviewsIntegrationTest {
     @MockitoBean
     private ReviewService reviewService;
 
+    @MockitoBean
+    private MovieCatalogService movieCatalogService;
+
     @Test
     @Timeout(30)
     @Disabled(value = "keeps failing tests, realistically should be moved out and done externally")
@@ -147,7 +155,10 @@ class MovieReviewsIntegrationTest {
                 .andExpect(status().isOk());
 
         // Step 5: Get movie reviews
-        when(reviewService.getReviewsForMovie(movieId)).thenReturn(List.of(testReview));
+        ReviewSummary testReviewSummary = new ReviewSummary(
+                reviewId, 8, "Great movie!", testReview.getTimestamp(), "testuser");
+        when(reviewService.getReviewsForMovie(movieId, 20, null))
+                .thenReturn(new CursorPage<>(List.of(testReviewSummary), null));
 
         mockMvc.perform(get("/v1/movies/" + movieId + "/reviews"))
                 .andExpect(status().isOk())
@@ -1,8 +1,10 @@
 package com.madetech.soheb.moviereviewsbackend.service;
 
+import com.madetech.soheb.moviereviewsbackend.config.AuthenticatedPrincipal;
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserLoginRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.UserRegistrationRequest;
+import com.madetech.soheb.moviereviewsbackend.data.exceptions.HashingCapacityExceededException;
 import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,8 +12,8 @@ import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -28,20 +30,17 @@ class AuthenticationServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private JwtService jwtService;
 
-    @Mock
-    private FilmTokenAuthenticationService filmTokenAuthenticationService;
-
     private AuthenticationService authenticationService;
 
 
     @BeforeEach
     void setUp() {
-        authenticationService = new AuthenticationService(userRepository, passwordEncoder, jwtService, filmTokenAuthenticationService);
+        authenticationService = new AuthenticationService(userRepository, passwordHashingService, jwtService);
     }
 
     @Test
@@ -55,7 +54,7 @@ class AuthenticationServiceTest {
 
         when(userRepository.existsByUsername("testuser")).thenReturn(false);
         when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
-        when(passwordEncoder.encode("password123")).thenReturn("hashedPassword123");
+        when(passwordHashingService.encode("password123")).thenReturn("hashedPassword123");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Optional<User> result = authenticationService.registerUser(request);
@@ -120,7 +119,7 @@ class AuthenticationServiceTest {
         user.setCreatedAt(LocalDateTime.now());
 
         when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("password123", "hashedPassword")).thenReturn(true);
+        when(passwordHashingService.matches("password123", "hashedPassword")).thenReturn(true);
 
         Optional<User> result = authenticationService.authenticateUser(request);
 
@@ -128,6 +127,81 @@ class AuthenticationServiceTest {
         assertEquals("testuser", result.get().getUsername());
     }
 
+    @Test
+    @Timeout(5)
+    void authenticateUser_OutdatedHash_RehashesAndSavesUser() {
+        UserLoginRequest request = new UserLoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("password123");
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("testuser");
+        user.setPasswordHash("weakHash");
+
+        when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", "weakHash")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("weakHash")).thenReturn(true);
+        when(passwordHashingService.encode("password123")).thenReturn("strongHash");
+        when(userRepository.updatePasswordHash(user.getId(), "strongHash", "weakHash")).thenReturn(1);
+
+        Optional<User> result = authenticationService.authenticateUser(request);
+
+        assertTrue(result.isPresent());
+        assertEquals("strongHash", result.get().getPasswordHash());
+        verify(userRepository).updatePasswordHash(user.getId(), "strongHash", "weakHash");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @Timeout(5)
+    void authenticateUser_HashChangedSinceLoad_KeepsLoadedHash() {
+        UserLoginRequest request = new UserLoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("password123");
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("testuser");
+        user.setPasswordHash("weakHash");
+
+        when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", "weakHash")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("weakHash")).thenReturn(true);
+        when(passwordHashingService.encode("password123")).thenReturn("strongHash");
+        when(userRepository.updatePasswordHash(user.getId(), "strongHash", "weakHash")).thenReturn(0);
+
+        Optional<User> result = authenticationService.authenticateUser(request);
+
+        assertTrue(result.isPresent());
+        assertEquals("weakHash", result.get().getPasswordHash());
+    }
+
+    @Test
+    @Timeout(5)
+    void authenticateUser_RehashFails_StillReturnsUser() {
+        UserLoginRequest request = new UserLoginRequest();
+        request.setUsernameOrEmail("testuser");
+        request.setPassword("password123");
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("testuser");
+        user.setPasswordHash("weakHash");
+
+        when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", "weakHash")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("weakHash")).thenReturn(true);
+        when(passwordHashingService.encode("password123"))
+                .thenThrow(new HashingCapacityExceededException(Duration.ofSeconds(1)));
+
+        Optional<User> result = authenticationService.authenticateUser(request);
+
+        assertTrue(result.isPresent());
+        assertEquals("weakHash", result.get().getPasswordHash());
+        verify(userRepository, never()).updatePasswordHash(any(), any(), any());
+    }
+
     @Test
     @Timeout(5)
     void authenticateUser_UserNotFound_ReturnsEmpty() {
@@ -184,34 +258,39 @@ class AuthenticationServiceTest {
 
     @Test
     @Timeout(5)
-    void validateFilmToken_ValidToken_ReturnsTrue() {
-        when(filmTokenAuthenticationService.isValidToken("testtoken123456789")).thenReturn(true);
+    void resolveUser_ReviewUserPrincipal_ReturnsUserWithoutVerifyingToken() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRejected(false);
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
-        boolean result = authenticationService.validateFilmToken("testtoken123456789");
+        Optional<User> result = authenticationService.resolveUser(AuthenticatedPrincipal.reviewUser(user.getId()));
 
-        assertTrue(result);
-        verify(filmTokenAuthenticationService).isValidToken("testtoken123456789");
+        assertEquals(Optional.of(user), result);
+        verifyNoInteractions(jwtService);
     }
 
     @Test
     @Timeout(5)
-    void validateFilmToken_InvalidToken_ReturnsFalse() {
-        when(filmTokenAuthenticationService.isValidToken("invalidtoken")).thenReturn(false);
+    void resolveUser_RejectedSinceTokenIssued_ReturnsEmpty() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRejected(true);
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
-        boolean result = authenticationService.validateFilmToken("invalidtoken");
+        Optional<User> result = authenticationService.resolveUser(AuthenticatedPrincipal.reviewUser(user.getId()));
 
-        assertFalse(result);
-        verify(filmTokenAuthenticationService).isValidToken("invalidtoken");
+        assertFalse(result.isPresent());
     }
 
     @Test
     @Timeout(5)
-    void validateFilmToken_NullToken_ReturnsFalse() {
-        when(filmTokenAuthenticationService.isValidToken(null)).thenReturn(false);
-
-        boolean result = authenticationService.validateFilmToken(null);
+    void resolveUser_MissingOrFilmSubmitterPrincipal_ReturnsEmpty() {
+        assertFalse(authenticationService.resolveUser(null).isPresent());
+        assertFalse(authenticationService.resolveUser(AuthenticatedPrincipal.filmSubmitter(false)).isPresent());
 
-        assertFalse(result);
-        verify(filmTokenAuthenticationService).isValidToken(null);
+        verifyNoInteractions(userRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.config.JwtProperties;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private KeyPair keyPair;
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        keyPair = generateKeyPair();
+        jwtService = new JwtService(properties(keyPair), 100);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService.bindTo(meterRegistry);
+    }
+
+    @Test
+    @Timeout(5)
+    void extractUserId_RepeatedToken_VerifiesOnceThenServesFromCache() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.generateToken(userId);
+
+        assertTrue(jwtService.isTokenValid(token));
+        assertEquals(userId, jwtService.extractUserId(token));
+        assertEquals(userId, jwtService.extractUserId(token));
+
+        assertEquals(1.0, cacheGets("miss"));
+        assertEquals(2.0, cacheGets("hit"));
+    }
+
+    @Test
+    @Timeout(5)
+    void isTokenValid_TamperedToken_ReturnsFalseEveryTime() {
+        String token = jwtService.generateToken(UUID.randomUUID());
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertFalse(jwtService.isTokenValid(tampered));
+        assertFalse(jwtService.isTokenValid(tampered));
+
+        // Failed verifications are never cached
+        assertEquals(0.0, cacheGets("hit"));
+        assertEquals(2.0, cacheGets("miss"));
+    }
+
+    @Test
+    @Timeout(5)
+    void isTokenValid_ExpiredToken_ReturnsFalse() {
+        String token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .issuedAt(Date.from(Instant.now().minus(2, ChronoUnit.DAYS)))
+                .expiration(Date.from(Instant.now().minus(1, ChronoUnit.DAYS)))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS512)
+                .compact();
+
+        assertFalse(jwtService.isTokenValid(token));
+        assertThrows(RuntimeException.class, () -> jwtService.extractUserId(token));
+    }
+
+    @Test
+    @Timeout(5)
+    void isTokenValid_TokenSignedWithAnotherKey_ReturnsFalse() throws GeneralSecurityException {
+        JwtService otherService = new JwtService(properties(generateKeyPair()), 100);
+        String token = otherService.generateToken(UUID.randomUUID());
+
+        assertTrue(otherService.isTokenValid(token));
+        assertFalse(jwtService.isTokenValid(token));
+    }
+
+    @Test
+    @Timeout(10)
+    void generateToken_EachAlgorithm_RoundTripsWithKeyIdHeader() throws GeneralSecurityException {
+        for (String algorithm : List.of("RS512", "ES256", "EdDSA")) {
+            JwtService service = new JwtService(properties(generateKeyPair(algorithm), algorithm), 100);
+            UUID userId = UUID.randomUUID();
+
+            String token = service.generateToken(userId);
+
+            String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                    StandardCharsets.UTF_8);
+            assertTrue(header.contains("\"alg\":\"" + algorithm + "\""), header);
+            assertTrue(header.contains("\"kid\":"), header);
+            assertEquals(userId, service.extractUserId(token), algorithm);
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void isTokenValid_DuringRotation_AcceptsTokensFromPreviousKeyUntilItIsRemoved() throws GeneralSecurityException {
+        KeyPair newKeyPair = generateKeyPair("EdDSA");
+        String oldToken = jwtService.generateToken(UUID.randomUUID());
+
+        JwtProperties rotating = properties(newKeyPair, "EdDSA");
+        rotating.setVerificationKeys(List.of(verificationKey(keyPair, "RS512")));
+        JwtService rotated = new JwtService(rotating, 100);
+        String newToken = rotated.generateToken(UUID.randomUUID());
+
+        assertTrue(rotated.isTokenValid(oldToken));
+        assertTrue(rotated.isTokenValid(newToken));
+        // Instances not yet rotated already list the new key, so they accept its tokens too
+        JwtProperties preparing = properties(keyPair);
+        preparing.setVerificationKeys(List.of(verificationKey(newKeyPair, "EdDSA")));
+        assertTrue(new JwtService(preparing, 100).isTokenValid(newToken));
+
+        JwtService retired = new JwtService(properties(newKeyPair, "EdDSA"), 100);
+        assertFalse(retired.isTokenValid(oldToken));
+        assertTrue(retired.isTokenValid(newToken));
+    }
+
+    @Test
+    @Timeout(5)
+    void isTokenValid_TokenWithoutKeyId_VerifiedWithRsaKey() {
+        String token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .expiration(Date.from(Instant.now().plus(1, ChronoUnit.DAYS)))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS512)
+                .compact();
+
+        assertTrue(jwtService.isTokenValid(token));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static KeyPair generateKeyPair() throws GeneralSecurityException {
+        return generateKeyPair("RS512");
+    }
+
+    private static KeyPair generateKeyPair(String algorithm) throws GeneralSecurityException {
+        KeyPairGenerator generator;
+        switch (algorithm) {
+            case "ES256" -> {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            case "EdDSA" -> generator = KeyPairGenerator.getInstance("Ed25519");
+            default -> {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+            }
+        }
+        return generator.generateKeyPair();
+    }
+
+    private static JwtProperties properties(KeyPair keyPair) {
+        return properties(keyPair, "RS512");
+    }
+
+    private static JwtProperties properties(KeyPair keyPair, String algorithm) {
+        JwtProperties properties = new JwtProperties(null);
+        properties.setAlgorithm(algorithm);
+        properties.setPrivatekey(encode(keyPair.getPrivate()));
+        properties.setPublickey(encode(keyPair.getPublic()));
+        return properties;
+    }
+
+    private static JwtProperties.VerificationKey verificationKey(KeyPair keyPair, String algorithm) {
+        JwtProperties.VerificationKey key = new JwtProperties.VerificationKey();
+        key.setAlgorithm(algorithm);
+        key.setPublickey(encode(keyPair.getPublic()));
+        return key;
+    }
+
+    private static String encode(Key key) {
+        return Base64.getEncoder().encodeToString(key.getEncoded());
+    }
+}
@@ -0,0 +1,99 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.config.JwtProperties;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-token cost of signing and verifying with each supported algorithm. Verification goes straight through the
+ * keyring-backed parser, because JwtService's claims cache would otherwise answer every call after the first.
+ * <p>
+ * Not picked up by surefire; run {@link #main} on the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({"RS512", "ES256", "EdDSA"})
+    private String algorithm;
+
+    // Production signs RS512 with a 4096-bit key; 2048 shows how much of the cost is the modulus. Ignored by ES256
+    // and EdDSA, whose key size is fixed by the curve
+    @Param({"4096", "2048"})
+    private int rsaKeyBits;
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        KeyPair keyPair = generateKeyPair(algorithm, rsaKeyBits);
+        JwtProperties properties = new JwtProperties(null);
+        properties.setAlgorithm(algorithm);
+        properties.setPrivatekey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        properties.setPublickey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+        jwtService = new JwtService(properties, 0);
+        parser = Jwts.parser().keyLocator(new JwtKeyring(properties)).build();
+        userId = UUID.randomUUID();
+        token = jwtService.generateToken(userId);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(userId);
+    }
+
+    @Benchmark
+    public Object verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtSigningBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static KeyPair generateKeyPair(String algorithm, int rsaKeyBits) throws GeneralSecurityException {
+        KeyPairGenerator generator;
+        switch (algorithm) {
+            case "ES256" -> {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            case "EdDSA" -> generator = KeyPairGenerator.getInstance("Ed25519");
+            default -> {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(rsaKeyBits);
+            }
+        }
+        return generator.generateKeyPair();
+    }
+}
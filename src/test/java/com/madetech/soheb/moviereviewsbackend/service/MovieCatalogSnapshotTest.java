@@ -0,0 +1,231 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.JsonPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFacetCounts;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieFilter;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieCatalogSnapshotTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    @Timeout(5)
+    void page_WalksCatalogNewestFirstUsingCursors() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MovieWithRating oldest = movie("Oldest", now.minusDays(2));
+        MovieWithRating middle = movie("Middle", now.minusDays(1));
+        MovieWithRating newest = movie("Newest", now);
+
+        MovieCatalogSnapshot snapshot = withMovies(MovieCatalogSnapshot.empty(), middle, oldest, newest);
+
+        JsonPage first = snapshot.page(2, null);
+        assertEquals(List.of("Newest", "Middle"), names(first));
+        assertEquals(new PageCursor(middle.getCreatedAt(), middle.getId()), first.getNextCursor());
+
+        JsonPage second = snapshot.page(2, first.getNextCursor());
+        assertEquals(List.of("Oldest"), names(second));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @Timeout(5)
+    void page_EmptyCatalog_ReturnsEmptyArray() {
+        JsonPage page = MovieCatalogSnapshot.empty().page(20, null);
+
+        assertEquals("[]", new String(page.getBody()));
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    @Timeout(5)
+    void withMovies_ExistingMovie_ReplacedInPlaceWithoutAffectingOlderSnapshot() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MovieWithRating first = movie("First", now.minusDays(1));
+        MovieWithRating second = movie("Second", now);
+        MovieCatalogSnapshot original = withMovies(MovieCatalogSnapshot.empty(), first, second);
+
+        MovieWithRating rated = movie("First", first.getCreatedAt());
+        rated.setId(first.getId());
+        rated.setAverageRating(9.0);
+        MovieCatalogSnapshot updated = withMovies(original, rated);
+
+        assertEquals(2, updated.size());
+        assertEquals(original.ordinalOf(first.getId()), updated.ordinalOf(first.getId()));
+        assertEquals(9.0, updated.find(first.getId()).orElseThrow().getAverageRating());
+        assertNull(original.find(first.getId()).orElseThrow().getAverageRating());
+        assertEquals(original.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    @Timeout(5)
+    void withMovies_NewMovie_NotVisibleToOlderSnapshot() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MovieCatalogSnapshot original = withMovies(MovieCatalogSnapshot.empty(), movie("Existing", now.minusDays(1)));
+
+        MovieWithRating added = movie("Added", now);
+        MovieCatalogSnapshot updated = withMovies(original, added);
+
+        assertEquals(-1, original.ordinalOf(added.getId()));
+        assertTrue(updated.find(added.getId()).isPresent());
+        assertEquals(List.of("Existing"), names(original.page(20, null)));
+        assertEquals(List.of("Added", "Existing"), names(updated.page(20, null)));
+    }
+
+    @Test
+    @Timeout(5)
+    void json_EncodesCandidatesNewestFirstSkippingUnknownOrdinals() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MovieCatalogSnapshot snapshot = withMovies(MovieCatalogSnapshot.empty(),
+                movie("Oldest", now.minusDays(2)), movie("Middle", now.minusDays(1)), movie("Newest", now));
+
+        byte[] all = snapshot.json(new int[]{0, 1, 2, 7}, 20);
+        byte[] limited = snapshot.json(new int[]{0, 1, 2}, 2);
+
+        assertEquals(List.of("Newest", "Middle", "Oldest"), names(new JsonPage(all, null)));
+        assertEquals(List.of("Newest", "Middle"), names(new JsonPage(limited, null)));
+        assertEquals("[]", new String(snapshot.json(new int[0], 20)));
+    }
+
+    @Test
+    @Timeout(5)
+    void page_WithFilter_WalksOnlyMatchingMoviesUsingCursors() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MovieCatalogSnapshot snapshot = withMovies(MovieCatalogSnapshot.empty(),
+                movie("Old Drama", now.minusDays(3), List.of("Drama"), AgeRating.BBFC_15, 1994),
+                movie("Comedy", now.minusDays(2), List.of("Comedy"), AgeRating.BBFC_12A, 1998),
+                movie("Crime Drama", now.minusDays(1), List.of("Crime", "Drama"), AgeRating.BBFC_18, 1995),
+                movie("New Drama", now, List.of("Drama"), AgeRating.BBFC_15, 2010));
+        MovieFilter dramasOfThe90s = new MovieFilter(List.of("Drama"), List.of(), 1990, 1999);
+
+        JsonPage first = snapshot.page(1, null, dramasOfThe90s);
+        JsonPage second = snapshot.page(1, first.getNextCursor(), dramasOfThe90s);
+
+        assertEquals(List.of("Crime Drama"), names(first));
+        assertEquals(List.of("Old Drama"), names(second));
+        assertFalse(second.hasNext());
+        assertEquals(List.of("New Drama", "Old Drama"), names(snapshot.page(20, null,
+                new MovieFilter(List.of(), List.of(AgeRating.BBFC_15), null, null))));
+    }
+
+    @Test
+    @Timeout(5)
+    void page_WithFilter_MoviesInsertedAheadAndAfterAnEdit_MatchesTheRightMovies() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MovieWithRating comedy = movie("Comedy", now.minusDays(2), List.of("Comedy"), AgeRating.BBFC_12A, 1998);
+        MovieCatalogSnapshot snapshot = withMovies(MovieCatalogSnapshot.empty(),
+                movie("Old Drama", now.minusDays(3), List.of("Drama"), AgeRating.BBFC_15, 1994), comedy);
+        MovieFilter dramas = new MovieFilter(List.of("Drama"), List.of(), null, null);
+
+        // Newer movies take the first listing positions, moving every existing movie down
+        MovieCatalogSnapshot inserted = withMovies(snapshot,
+                movie("New Comedy", now, List.of("Comedy"), AgeRating.BBFC_U, 2010),
+                movie("New Drama", now.minusDays(1), List.of("Drama"), AgeRating.BBFC_15, 2008));
+        MovieWithRating recategorised = movie("Comedy", comedy.getCreatedAt(), List.of("Drama"), AgeRating.BBFC_12A, 1998);
+        recategorised.setId(comedy.getId());
+        MovieCatalogSnapshot edited = withMovies(inserted, recategorised);
+
+        assertEquals(List.of("New Drama", "Old Drama"), names(inserted.page(20, null, dramas)));
+        assertEquals(List.of("New Drama", "Comedy", "Old Drama"), names(edited.page(20, null, dramas)));
+        JsonPage first = edited.page(2, null, dramas);
+        assertEquals(List.of("Old Drama"), names(edited.page(2, first.getNextCursor(), dramas)));
+        assertEquals(List.of("Old Drama"), names(snapshot.page(20, null, dramas)));
+    }
+
+    @Test
+    @Timeout(5)
+    void page_WithFilter_OlderMovieBackfilledWithAnEdit_MatchesTheRightMovies() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MovieWithRating comedy = movie("Comedy", now.minusDays(1), List.of("Comedy"), AgeRating.BBFC_12A, 1998);
+        MovieCatalogSnapshot snapshot = withMovies(MovieCatalogSnapshot.empty(),
+                movie("Old Drama", now.minusDays(3), List.of("Drama"), AgeRating.BBFC_15, 1994), comedy,
+                movie("New Drama", now, List.of("Drama"), AgeRating.BBFC_15, 2010));
+        MovieFilter dramas = new MovieFilter(List.of("Drama"), List.of(), null, null);
+
+        // Lands between existing movies rather than ahead of them, so the newer movies' ranks move up
+        MovieWithRating recategorised = movie("Comedy", comedy.getCreatedAt(), List.of("Drama"), AgeRating.BBFC_12A, 1998);
+        recategorised.setId(comedy.getId());
+        MovieCatalogSnapshot backfilled = withMovies(snapshot, recategorised,
+                movie("Backfilled Drama", now.minusDays(2), List.of("Drama"), AgeRating.BBFC_18, 1996));
+
+        assertEquals(List.of("New Drama", "Comedy", "Backfilled Drama", "Old Drama"),
+                names(backfilled.page(20, null, dramas)));
+        JsonPage first = backfilled.page(3, null, dramas);
+        assertEquals(List.of("Old Drama"), names(backfilled.page(3, first.getNextCursor(), dramas)));
+        assertEquals(List.of("Backfilled Drama"), names(backfilled.page(20, null,
+                new MovieFilter(List.of(), List.of(AgeRating.BBFC_18), null, null))));
+        assertEquals(List.of("New Drama", "Old Drama"), names(snapshot.page(20, null, dramas)));
+    }
+
+    @Test
+    @Timeout(5)
+    void facetCounts_CountEachDimensionWithTheOtherFiltersApplied() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        MovieWithRating comedy = movie("Comedy", now.minusDays(2), List.of("Comedy"), AgeRating.BBFC_12A, 1998);
+        MovieCatalogSnapshot snapshot = withMovies(MovieCatalogSnapshot.empty(),
+                movie("Drama", now.minusDays(3), List.of("Drama"), AgeRating.BBFC_15, 1994),
+                comedy,
+                movie("Crime Drama", now.minusDays(1), List.of("Crime", "Drama"), AgeRating.BBFC_18, 1995));
+
+        MovieFacetCounts counts = snapshot.facetCounts(new MovieFilter(List.of("Drama"), List.of(), null, null));
+
+        assertEquals(2, counts.getTotal());
+        assertEquals(Map.of("Drama", 2, "Crime", 1, "Comedy", 1), counts.getGenres());
+        assertEquals(Map.of(AgeRating.BBFC_15, 1, AgeRating.BBFC_18, 1), counts.getAgeRatings());
+        assertEquals(Map.of(1994, 1, 1995, 1), counts.getReleaseYears());
+
+        // Re-rating a movie into another genre moves it between bitmaps without touching the older snapshot
+        MovieWithRating recategorised = movie("Comedy", comedy.getCreatedAt(), List.of("Drama"), AgeRating.BBFC_12A, 1998);
+        recategorised.setId(comedy.getId());
+        MovieCatalogSnapshot updated = withMovies(snapshot, recategorised);
+
+        assertEquals(3, updated.facetCounts(new MovieFilter(List.of("Drama"), List.of(), null, null)).getTotal());
+        assertEquals(2, snapshot.facetCounts(new MovieFilter(List.of("Drama"), List.of(), null, null)).getTotal());
+    }
+
+    private MovieCatalogSnapshot withMovies(MovieCatalogSnapshot snapshot, MovieWithRating... movies) throws Exception {
+        List<byte[]> encoded = new ArrayList<>();
+        for (MovieWithRating movie : movies) {
+            encoded.add(objectMapper.writeValueAsBytes(movie));
+        }
+        return snapshot.withMovies(Arrays.asList(movies), encoded);
+    }
+
+    private List<String> names(JsonPage page) throws Exception {
+        return Arrays.stream(objectMapper.readValue(page.getBody(), MovieWithRating[].class))
+                .map(MovieWithRating::getName)
+                .toList();
+    }
+
+    private MovieWithRating movie(String name, LocalDateTime createdAt, List<String> genres,
+                                  AgeRating ageRating, int releaseYear) {
+        MovieWithRating movie = movie(name, createdAt);
+        movie.setGenres(genres);
+        movie.setAgeRating(ageRating);
+        movie.setReleaseYear(releaseYear);
+        return movie;
+    }
+
+    private MovieWithRating movie(String name, LocalDateTime createdAt) {
+        MovieWithRating movie = new MovieWithRating();
+        movie.setId(UUID.randomUUID());
+        movie.setName(name);
+        movie.setCreatedAt(createdAt);
+        return movie;
+    }
+}
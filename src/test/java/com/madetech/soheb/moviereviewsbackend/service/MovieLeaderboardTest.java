@@ -0,0 +1,71 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieLeaderboardTest {
+
+    private final MovieLeaderboard leaderboard = new MovieLeaderboard(5.0, 10);
+
+    @Test
+    @Timeout(5)
+    void top_RanksWellReviewedMoviesAboveSparselyReviewedPerfectScores() {
+        leaderboard.update(0, movie(List.of("Drama"), 10.0, 1));
+        leaderboard.update(1, movie(List.of("Drama"), 9.0, 200));
+        leaderboard.update(2, movie(List.of("Comedy"), 7.0, 50));
+
+        assertArrayEquals(new int[]{1, 2, 0}, leaderboard.top(null, 10));
+        assertArrayEquals(new int[]{1}, leaderboard.top(null, 1));
+    }
+
+    @Test
+    @Timeout(5)
+    void top_WithGenre_RanksWithinGenreOnly() {
+        leaderboard.update(0, movie(List.of("Drama", "Crime"), 8.0, 100));
+        leaderboard.update(1, movie(List.of("Comedy"), 9.0, 100));
+        leaderboard.update(2, movie(List.of("Crime"), 6.0, 100));
+
+        assertArrayEquals(new int[]{0, 2}, leaderboard.top("Crime", 10));
+        assertArrayEquals(new int[0], leaderboard.top("Horror", 10));
+    }
+
+    @Test
+    @Timeout(5)
+    void update_NewReviewMovesMovieAndUnreviewedMoviesAreNotRanked() {
+        MovieWithRating rising = movie(List.of("Drama"), 6.0, 20);
+        leaderboard.update(0, rising);
+        leaderboard.update(1, movie(List.of("Drama"), 7.0, 20));
+        leaderboard.update(2, movie(List.of("Drama"), null, 0));
+
+        assertArrayEquals(new int[]{1, 0}, leaderboard.top(null, 10));
+
+        rising.setAverageRating(9.5);
+        rising.setReviewCount(21);
+        leaderboard.update(0, rising);
+
+        assertArrayEquals(new int[]{0, 1}, leaderboard.top(null, 10));
+        assertArrayEquals(new int[]{0, 1}, leaderboard.top("Drama", 10));
+    }
+
+    @Test
+    @Timeout(5)
+    void score_IsBayesianAverageTowardsPrior() {
+        assertEquals(5.0, leaderboard.score(10.0, 0), 1e-9);
+        assertEquals(7.5, leaderboard.score(10.0, 10), 1e-9);
+    }
+
+    private MovieWithRating movie(List<String> genres, Double averageRating, long reviewCount) {
+        MovieWithRating movie = new MovieWithRating();
+        movie.setId(UUID.randomUUID());
+        movie.setGenres(genres);
+        movie.setAverageRating(averageRating);
+        movie.setReviewCount(reviewCount);
+        return movie;
+    }
+}
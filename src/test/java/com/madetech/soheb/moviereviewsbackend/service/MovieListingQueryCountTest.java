@@ -0,0 +1,103 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.config.TransactionConfig;
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.data.database.MovieRatingStats;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRatingStatsRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({MovieService.class, TransactionConfig.class})
+@ActiveProfiles("test")
+class MovieListingQueryCountTest {
+
+    // One movie query plus one batched query per credit table
+    private static final long EXPECTED_LISTING_QUERIES = 6;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 30; i++) {
+            Movie movie = new Movie(
+                    UUID.randomUUID(),
+                    "Movie " + i,
+                    List.of("Action", "Drama"),
+                    List.of("Director " + i),
+                    List.of("Writer " + i),
+                    List.of("Actor " + i, "Actress " + i),
+                    List.of("Producer " + i),
+                    2000 + i,
+                    AgeRating.BBFC_15,
+                    createdAt.minusMinutes(i)
+            );
+            movieRepository.save(movie);
+            movieRatingStatsRepository.save(new MovieRatingStats(movie.getId(), 8, 1, 8, 8, createdAt));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @Timeout(30)
+    void getAllMoviesWithRating_QueryCountIndependentOfCatalogSize() {
+        long queries = countQueries(() -> movieService.getAllMoviesWithRating());
+
+        assertEquals(EXPECTED_LISTING_QUERIES, queries);
+    }
+
+    @Test
+    @Timeout(30)
+    void getAllMoviesWithRating_AssemblesCreditsFromBatchedQueries() {
+        List<MovieWithRating> movies = movieService.getAllMoviesWithRating();
+
+        assertEquals(30, movies.size());
+        MovieWithRating newest = movies.get(0);
+        assertEquals("Movie 0", newest.getName());
+        assertEquals(List.of("Action", "Drama"), newest.getGenres().stream().sorted().toList());
+        assertEquals(List.of("Director 0"), newest.getDirectors());
+        assertEquals(List.of("Actor 0", "Actress 0"), newest.getCast().stream().sorted().toList());
+        assertEquals(8.0, newest.getAverageRating());
+    }
+
+    private long countQueries(Runnable operation) {
+        entityManager.clear();
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,108 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieSearchIndexTest {
+
+    private MovieSearchIndex index;
+    private MovieWithRating heat;
+
+    @BeforeEach
+    void setUp() {
+        index = new MovieSearchIndex();
+        heat = movie("Heat", List.of("Al Pacino", "Robert De Niro"), List.of("Michael Mann"));
+        index.index(0, null, heat);
+        index.index(1, null, movie("The Irishman", List.of("Robert De Niro", "Al Pacino"), List.of("Martin Scorsese")));
+        index.index(2, null, movie("Amélie", List.of("Audrey Tautou"), List.of("Jean-Pierre Jeunet")));
+    }
+
+    @Test
+    @Timeout(5)
+    void search_MatchesNameAndCredits() {
+        assertArrayEquals(new int[]{0}, index.search("heat"));
+        assertArrayEquals(new int[]{0, 1}, index.search("De Niro"));
+        assertArrayEquals(new int[]{1}, index.search("scorsese"));
+    }
+
+    @Test
+    @Timeout(5)
+    void search_RequiresEveryTokenAndTreatsLastAsPrefix() {
+        assertArrayEquals(new int[]{0}, index.search("pacino mich"));
+        assertArrayEquals(new int[]{0, 1}, index.search("robert de"));
+        assertArrayEquals(new int[0], index.search("pac michael"));
+    }
+
+    @Test
+    @Timeout(5)
+    void search_ShortLastTokenMatchesOnlyWholeWords() {
+        assertArrayEquals(new int[0], index.search("ma"));
+        assertArrayEquals(new int[]{0, 1}, index.search("al"));
+        assertArrayEquals(new int[]{1}, index.search("mar"));
+    }
+
+    @Test
+    @Timeout(5)
+    void search_PrefixWithManyCompletions_ExpandsTheExactMatchAndTheMostCommon() {
+        int completions = MovieSearchIndex.MAX_PREFIX_TERMS + 6;
+        for (int i = 0; i < completions; i++) {
+            index.index(3 + i, null, movie(String.format("Episode%03d", i), List.of(), List.of()));
+        }
+        // The alphabetically last completion is the most common, and the exact word is as rare as any
+        int last = 2 + completions;
+        for (int i = 1; i <= 5; i++) {
+            index.index(last + i, null, movie(String.format("Episode%03d", completions - 1), List.of(), List.of()));
+        }
+        int exact = last + 6;
+        index.index(exact, null, movie("Episode", List.of(), List.of()));
+
+        int[] result = index.search("episode");
+
+        // The exact word, the six movies of the common completion, and the first of the equally rare ones
+        assertEquals(1 + 6 + MovieSearchIndex.MAX_PREFIX_TERMS - 2, result.length);
+        for (int ordinal = last; ordinal <= exact; ordinal++) {
+            assertTrue(Arrays.binarySearch(result, ordinal) >= 0, "missing ordinal " + ordinal);
+        }
+        assertTrue(Arrays.binarySearch(result, last - 1) < 0);
+        assertArrayEquals(new int[]{last - 1}, index.search(String.format("episode%03d", completions - 2)));
+    }
+
+    @Test
+    @Timeout(5)
+    void search_IgnoresCaseAccentsAndPunctuation() {
+        assertArrayEquals(new int[]{2}, index.search("AMELIE"));
+        assertArrayEquals(new int[]{2}, index.search("jean pierre"));
+        assertArrayEquals(new int[0], index.search("  !! "));
+    }
+
+    @Test
+    @Timeout(5)
+    void index_ChangedCreditsReplaceOldTokens() {
+        MovieWithRating recast = movie("Heat", List.of("Val Kilmer"), List.of("Michael Mann"));
+        recast.setId(heat.getId());
+        index.index(0, heat, recast);
+
+        assertArrayEquals(new int[]{1}, index.search("pacino"));
+        assertArrayEquals(new int[]{0}, index.search("kilmer"));
+        assertArrayEquals(new int[]{0}, index.search("heat"));
+    }
+
+    private MovieWithRating movie(String name, List<String> cast, List<String> directors) {
+        MovieWithRating movie = new MovieWithRating();
+        movie.setId(UUID.randomUUID());
+        movie.setName(name);
+        movie.setCast(cast);
+        movie.setDirectors(directors);
+        movie.setWriters(List.of());
+        movie.setProducers(List.of());
+        return movie;
+    }
+}
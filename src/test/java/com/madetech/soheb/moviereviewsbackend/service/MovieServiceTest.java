@@ -2,9 +2,13 @@ package com.madetech.soheb.moviereviewsbackend.service;
 
 import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
 import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.data.database.MovieRatingStats;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieSubmissionRequest;
 import com.madetech.soheb.moviereviewsbackend.data.controller.MovieWithRating;
+import com.madetech.soheb.moviereviewsbackend.data.events.MovieSubmittedEvent;
+import com.madetech.soheb.moviereviewsbackend.data.events.MoviesSubmittedEvent;
 import com.madetech.soheb.moviereviewsbackend.data.exceptions.MovieServiceException;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRatingStatsRepository;
 import com.madetech.soheb.moviereviewsbackend.repository.MovieRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +16,8 @@ import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -21,6 +27,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,11 +36,18 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private MovieService movieService;
 
     @BeforeEach
     void setUp() {
-        movieService = new MovieService(movieRepository);
+        movieService = new MovieService(movieRepository, movieRatingStatsRepository,
+                TransactionOperations.withoutTransaction(), eventPublisher, TransactionOperations.withoutTransaction());
     }
 
     @Test
@@ -59,6 +73,48 @@ class MovieServiceTest {
         assertEquals(2023, result.get().getReleaseYear());
         assertEquals(AgeRating.BBFC_15, result.get().getAgeRating());
         verify(movieRepository).save(any(Movie.class));
+        verify(movieRatingStatsRepository).save(MovieRatingStats.empty(result.get().getId()));
+        verify(eventPublisher).publishEvent(new MovieSubmittedEvent(result.get()));
+    }
+
+    @Test
+    @Timeout(5)
+    void submitMovies_ValidRequests_SavesBatchAndPublishesOneEvent() {
+        MovieSubmissionRequest first = new MovieSubmissionRequest("First Movie", List.of("Action"),
+                List.of("Director 1"), List.of("Writer 1"), List.of("Actor 1"), List.of("Producer 1"),
+                2023, AgeRating.BBFC_15);
+        MovieSubmissionRequest second = new MovieSubmissionRequest("Second Movie", List.of("Drama"),
+                List.of("Director 2"), List.of("Writer 2"), List.of("Actor 2"), List.of("Producer 2"),
+                2024, AgeRating.BBFC_12A);
+
+        when(movieRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Movie> result = movieService.submitMovies(List.of(first, second));
+
+        assertEquals(List.of("First Movie", "Second Movie"), result.stream().map(Movie::getName).toList());
+        assertNotEquals(result.get(0).getId(), result.get(1).getId());
+        verify(movieRepository).saveAll(anyList());
+        verify(movieRepository, never()).save(any(Movie.class));
+        verify(movieRatingStatsRepository).saveAll(List.of(
+                MovieRatingStats.empty(result.get(0).getId()),
+                MovieRatingStats.empty(result.get(1).getId())));
+        verify(eventPublisher).publishEvent(new MoviesSubmittedEvent(result));
+    }
+
+    @Test
+    @Timeout(5)
+    void submitMovies_RepositoryThrows_ThrowsMovieServiceException() {
+        MovieSubmissionRequest request = new MovieSubmissionRequest("Movie", List.of("Action"),
+                List.of("Director"), List.of("Writer"), List.of("Actor"), List.of("Producer"),
+                2023, AgeRating.BBFC_15);
+
+        when(movieRepository.saveAll(anyList())).thenThrow(new RuntimeException("Database error"));
+
+        MovieServiceException exception = assertThrows(MovieServiceException.class,
+                () -> movieService.submitMovies(List.of(request)));
+
+        assertEquals("ERR_MOVIE_BATCH_SUBMISSION_FAILED", exception.getErrorCode());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -89,83 +145,29 @@ class MovieServiceTest {
         movie2.setCreatedAt(LocalDateTime.now());
 
         List<Object[]> movieResults = Arrays.asList(
-                new Object[]{movie1, 8.5},
-                new Object[]{movie2, 7.2}
+                new Object[]{movie1, new MovieRatingStats(movie1.getId(), 17, 2, 8, 9, LocalDateTime.now())},
+                new Object[]{movie2, new MovieRatingStats(movie2.getId(), 36, 5, 5, 9, LocalDateTime.now())}
         );
-        when(movieRepository.findAllMoviesWithAverageRating()).thenReturn(movieResults);
+        when(movieRepository.findAllMoviesWithRatingStats()).thenReturn(movieResults);
 
         List<MovieWithRating> result = movieService.getAllMoviesWithRating();
 
         assertEquals(2, result.size());
         assertEquals("Movie 1", result.get(0).getName());
         assertEquals(8.5, result.get(0).getAverageRating());
-        verify(movieRepository).findAllMoviesWithAverageRating();
+        assertEquals(7.2, result.get(1).getAverageRating());
+        verify(movieRepository).findAllMoviesWithRatingStats();
     }
 
     @Test
     @Timeout(5)
     void getAllMoviesWithRating_EmptyList_ReturnsEmptyList() {
-        when(movieRepository.findAllMoviesWithAverageRating()).thenReturn(List.of());
+        when(movieRepository.findAllMoviesWithRatingStats()).thenReturn(List.of());
 
         List<MovieWithRating> result = movieService.getAllMoviesWithRating();
 
         assertTrue(result.isEmpty());
-        verify(movieRepository).findAllMoviesWithAverageRating();
-    }
-
-    @Test
-    @Timeout(5)
-    void findMovieById_ExistingMovie_ReturnsMovie() {
-        UUID movieId = UUID.randomUUID();
-        Movie movie = new Movie();
-        movie.setId(movieId);
-        movie.setName("Test Movie");
-        movie.setCreatedAt(LocalDateTime.now());
-
-        when(movieRepository.findById(movieId)).thenReturn(Optional.of(movie));
-
-        Optional<Movie> result = movieService.findMovieById(movieId);
-
-        assertTrue(result.isPresent());
-        assertEquals(movieId, result.get().getId());
-        assertEquals("Test Movie", result.get().getName());
-        verify(movieRepository).findById(movieId);
-    }
-
-    @Test
-    @Timeout(5)
-    void findMovieById_NonExistingMovie_ReturnsEmpty() {
-        UUID movieId = UUID.randomUUID();
-        when(movieRepository.findById(movieId)).thenReturn(Optional.empty());
-
-        Optional<Movie> result = movieService.findMovieById(movieId);
-
-        assertFalse(result.isPresent());
-        verify(movieRepository).findById(movieId);
-    }
-
-    @Test
-    @Timeout(5)
-    void movieExists_ExistingMovie_ReturnsTrue() {
-        UUID movieId = UUID.randomUUID();
-        when(movieRepository.existsById(movieId)).thenReturn(true);
-
-        boolean result = movieService.movieExists(movieId);
-
-        assertTrue(result);
-        verify(movieRepository).existsById(movieId);
-    }
-
-    @Test
-    @Timeout(5)
-    void movieExists_NonExistingMovie_ReturnsFalse() {
-        UUID movieId = UUID.randomUUID();
-        when(movieRepository.existsById(movieId)).thenReturn(false);
-
-        boolean result = movieService.movieExists(movieId);
-
-        assertFalse(result);
-        verify(movieRepository).existsById(movieId);
+        verify(movieRepository).findAllMoviesWithRatingStats();
     }
 
     @Test
@@ -184,5 +186,21 @@ class MovieServiceTest {
         when(movieRepository.save(any(Movie.class))).thenThrow(new RuntimeException("Database error"));
 
         assertThrows(RuntimeException.class, () -> movieService.submitMovie(request));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private Movie createMovie(String name, LocalDateTime createdAt) {
+        Movie movie = new Movie();
+        movie.setId(UUID.randomUUID());
+        movie.setName(name);
+        movie.setGenres(List.of("Action"));
+        movie.setDirectors(List.of("Director"));
+        movie.setWriters(List.of("Writer"));
+        movie.setCast(List.of("Actor"));
+        movie.setProducers(List.of("Producer"));
+        movie.setReleaseYear(2023);
+        movie.setAgeRating(AgeRating.BBFC_15);
+        movie.setCreatedAt(createdAt);
+        return movie;
     }
 }
\ No newline at end of file
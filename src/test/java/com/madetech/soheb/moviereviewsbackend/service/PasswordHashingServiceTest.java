@@ -0,0 +1,118 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.data.exceptions.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService(new BlockingEncoder(), meterRegistry, 1, 1,
+                Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    @Timeout(5)
+    void encode_RunsOnHashingThreadAndRecordsLatency() {
+        release.countDown();
+
+        String hash = passwordHashingService.encode("password123");
+
+        assertTrue(hash.startsWith("hashed-by-password-hashing-"));
+        assertTrue(passwordHashingService.matches("password123", "password123"));
+        assertEquals(1, meterRegistry.get("auth.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @Timeout(5)
+    void encode_QueueFull_RejectsImmediatelyWithRetryAfter() throws Exception {
+        Future<String> running = callers.submit(() -> passwordHashingService.encode("first"));
+        awaitGauge("auth.hashing.active", 1);
+        Future<String> queued = callers.submit(() -> passwordHashingService.encode("second"));
+        awaitGauge("auth.hashing.queue.depth", 1);
+
+        HashingCapacityExceededException exception = assertThrows(HashingCapacityExceededException.class,
+                () -> passwordHashingService.encode("third"));
+
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.hashing.rejected").counter().count());
+
+        // The hashes already accepted still complete once a thread is free
+        release.countDown();
+        assertNotNull(running.get());
+        assertNotNull(queued.get());
+        awaitGauge("auth.hashing.queue.depth", 0);
+    }
+
+    @Test
+    @Timeout(5)
+    void matches_EncoderThrows_PropagatesOriginalException() {
+        release.countDown();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> passwordHashingService.matches("password123", null));
+
+        assertEquals("No hash", exception.getMessage());
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            Thread.sleep(5);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed-by-" + Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            if (encodedPassword == null) {
+                throw new IllegalArgumentException("No hash");
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+
+        private void await() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.config.TransactionConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import({RatingHistogramStore.class, TransactionConfig.class})
+@ActiveProfiles("test")
+// The store commits its own flush transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RatingHistogramStoreTest {
+
+    @Autowired
+    private RatingHistogramStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM movie_rating_histograms");
+    }
+
+    @Test
+    @Timeout(30)
+    void record_CountsImmediatelyAndFlushesDeltasToTable() {
+        UUID movieId = UUID.randomUUID();
+        store.record(movieId, 8);
+        store.record(movieId, 8);
+        store.record(movieId, 3);
+
+        assertEquals(2, store.histogram(movieId)[8]);
+        assertEquals(1, store.histogram(movieId)[3]);
+        assertNull(storedHistogram(movieId));
+
+        store.flush();
+        store.record(movieId, 10);
+        store.flush();
+
+        long[] stored = storedHistogram(movieId);
+        assertArrayEquals(new long[]{0, 0, 0, 1, 0, 0, 0, 0, 2, 0, 1}, stored);
+        assertArrayEquals(stored, store.histogram(movieId));
+    }
+
+    @Test
+    @Timeout(30)
+    void reload_CombinesTableWithUnflushedDeltas() {
+        UUID movieId = UUID.randomUUID();
+        store.record(movieId, 5);
+        store.flush();
+        // Another instance flushed two more reviews of 7
+        jdbcTemplate.update("UPDATE movie_rating_histograms SET rating_7 = rating_7 + 2 WHERE movie_id = ?", movieId);
+        store.record(movieId, 1);
+
+        store.reload();
+
+        assertArrayEquals(new long[]{0, 1, 0, 0, 0, 1, 0, 2, 0, 0, 0}, store.histogram(movieId));
+    }
+
+    @Test
+    @Timeout(30)
+    void reload_ConcurrentWithRecords_NeverDropsARecordedReview() throws Exception {
+        UUID movieId = UUID.randomUUID();
+        store.record(movieId, 6);
+        store.flush();
+        AtomicBoolean recording = new AtomicBoolean(true);
+        AtomicInteger reloads = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> reloader = executor.submit(() -> {
+                while (recording.get()) {
+                    store.reload();
+                    reloads.incrementAndGet();
+                }
+            });
+
+            // An increment that misses a concurrent reload would be gone from the counts until the next one
+            long expected = 1;
+            while (reloads.get() < 500) {
+                store.record(movieId, 6);
+                assertEquals(++expected, store.histogram(movieId)[6]);
+            }
+            recording.set(false);
+            reloader.get();
+        } finally {
+            recording.set(false);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void flush_TransactionCannotStart_KeepsDeltasForNextFlush() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new IllegalStateException("Connection pool is closed"))
+                .thenReturn(new SimpleTransactionStatus());
+        RatingHistogramStore failingOnce = new RatingHistogramStore(jdbcTemplate, transactionManager);
+        UUID movieId = UUID.randomUUID();
+        failingOnce.record(movieId, 4);
+
+        failingOnce.flush();
+        assertNull(storedHistogram(movieId));
+
+        failingOnce.flush();
+        assertArrayEquals(new long[]{0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0}, storedHistogram(movieId));
+    }
+
+    @Test
+    @Timeout(30)
+    void histogram_UnreviewedMovieAndOutOfRangeRating_AllZeros() {
+        UUID movieId = UUID.randomUUID();
+        store.record(movieId, 11);
+
+        assertArrayEquals(new long[RatingHistogramStore.BUCKETS], store.histogram(movieId));
+        assertArrayEquals(new long[RatingHistogramStore.BUCKETS], store.histogram(UUID.randomUUID()));
+    }
+
+    private long[] storedHistogram(UUID movieId) {
+        List<long[]> rows = jdbcTemplate.query("SELECT * FROM movie_rating_histograms WHERE movie_id = ?",
+                (row, rowNum) -> {
+                    long[] histogram = new long[RatingHistogramStore.BUCKETS];
+                    for (int rating = 0; rating < RatingHistogramStore.BUCKETS; rating++) {
+                        histogram[rating] = row.getLong("rating_" + rating);
+                    }
+                    return histogram;
+                },
+                movieId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
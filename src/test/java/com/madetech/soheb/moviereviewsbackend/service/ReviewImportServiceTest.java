@@ -0,0 +1,143 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.config.TransactionConfig;
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewImportProgress;
+import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.data.database.MovieRatingStats;
+import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRatingStatsRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.ReviewRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not wrapped in a test transaction, so each batch commits exactly as it would in production
+@DataJpaTest(properties = "moviereviews.review-import.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReviewImportService.class, TransactionConfig.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@ActiveProfiles("test")
+class ReviewImportServiceTest {
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Movie movie;
+    private User alice;
+    private User bob;
+    private User carol;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        movie = movieRepository.save(new Movie(UUID.randomUUID(), "Imported Movie", List.of("Drama"),
+                List.of("Director"), List.of("Writer"), List.of("Actor"), List.of("Producer"),
+                2020, AgeRating.BBFC_12A, now));
+        movieRatingStatsRepository.save(MovieRatingStats.empty(movie.getId()));
+        alice = saveUser(now);
+        bob = saveUser(now);
+        carol = saveUser(now);
+    }
+
+    @Test
+    @Timeout(30)
+    void importReviews_ValidLines_InsertsReviewsAndUpdatesAggregate() throws IOException {
+        LocalDateTime written = LocalDateTime.of(2015, 6, 1, 12, 0);
+        String input = line(alice, 8, written) + line(bob, 4, null) + "\n" + line(carol, 6, null);
+        List<ReviewImportProgress> progress = new ArrayList<>();
+
+        ReviewImportProgress result = reviewImportService.importReviews(stream(input), progress::add);
+
+        assertEquals(new ReviewImportProgress(3, 3, 0, true, List.of()), result);
+        // Batch size is 2, so one intermediate report before the final partial batch
+        assertEquals(List.of(new ReviewImportProgress(2, 2, 0, false, List.of())), progress);
+        assertEquals(3, reviewRepository.findSummariesByMovieId(movie.getId(), Limit.of(10)).size());
+
+        MovieRatingStats stats = movieRatingStatsRepository.findById(movie.getId()).orElseThrow();
+        assertEquals(3, stats.getRatingCount());
+        assertEquals(18, stats.getRatingSum());
+        assertEquals(4, stats.getMinRating());
+        assertEquals(8, stats.getMaxRating());
+    }
+
+    @Test
+    @Timeout(30)
+    void importReviews_BadLines_RejectsThemAndImportsTheRest() throws IOException {
+        String input = "not json\n"
+                + "{\"movieId\":\"" + movie.getId() + "\",\"userId\":\"" + alice.getId() + "\",\"rating\":11,"
+                + "\"description\":\"Too high\"}\n"
+                + "{\"movieId\":\"" + UUID.randomUUID() + "\",\"userId\":\"" + alice.getId() + "\",\"rating\":5,"
+                + "\"description\":\"No such movie\"}\n"
+                + line(alice, 7, null)
+                + line(alice, 2, null);
+
+        ReviewImportProgress result = reviewImportService.importReviews(stream(input), progress -> { });
+
+        assertEquals(5, result.getProcessed());
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getRejected());
+        assertEquals(List.of(
+                "line 1: malformed JSON",
+                "line 2: invalid rating",
+                "line 3: unknown movie",
+                "line 5: already reviewed"), result.getErrors());
+
+        MovieRatingStats stats = movieRatingStatsRepository.findById(movie.getId()).orElseThrow();
+        assertEquals(1, stats.getRatingCount());
+        assertEquals(7, stats.getRatingSum());
+    }
+
+    private User saveUser(LocalDateTime now) {
+        String name = "user" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(UUID.randomUUID(), name, name + "@example.com",
+                "hash", LocalDate.of(1990, 1, 1), false, now));
+    }
+
+    private String line(User user, int rating, LocalDateTime timestamp) {
+        return "{\"movieId\":\"" + movie.getId() + "\",\"userId\":\"" + user.getId() + "\",\"rating\":" + rating
+                + ",\"description\":\"Imported review rated " + rating + "\""
+                + (timestamp != null ? ",\"timestamp\":\"" + timestamp + "\"" : "") + "}\n";
+    }
+
+    private ByteArrayInputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,161 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.config.TransactionConfig;
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary;
+import com.madetech.soheb.moviereviewsbackend.data.controller.UserReviewSummary;
+import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.data.database.Review;
+import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.ReviewRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ReviewService.class, MovieService.class, TransactionConfig.class})
+@ActiveProfiles("test")
+class ReviewListingQueryCountTest {
+
+    private static final int REVIEW_COUNT = 20;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private UUID movieId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Movie movie = movieRepository.save(new Movie(UUID.randomUUID(), "Reviewed Movie", List.of("Drama"),
+                List.of("Director"), List.of("Writer"), List.of("Actor"), List.of("Producer"), 2020, AgeRating.BBFC_12A, now));
+        movieId = movie.getId();
+
+        // Pairs of reviews share a timestamp so the id tie-breaker is exercised
+        for (int i = 0; i < REVIEW_COUNT; i++) {
+            User user = userRepository.save(new User(UUID.randomUUID(), "reviewer" + i, "reviewer" + i + "@example.com",
+                    "hash", LocalDate.of(1990, 1, 1), false, now));
+            reviewRepository.save(new Review(UUID.randomUUID(), movie, user, i % 11, "Review " + i, now.minusMinutes(i / 2)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @Timeout(30)
+    void getReviewsForMovie_SingleStatementRegardlessOfPageSize() {
+        long smallPageQueries = countQueries(() -> reviewService.getReviewsForMovie(movieId, 2, null));
+        long fullPageQueries = countQueries(() -> reviewService.getReviewsForMovie(movieId, REVIEW_COUNT, null));
+
+        assertEquals(1, smallPageQueries);
+        assertEquals(1, fullPageQueries);
+    }
+
+    @Test
+    @Timeout(30)
+    void getReviewsForMovie_CursorWalkVisitsEveryReviewOnceNewestFirst() {
+        List<ReviewSummary> visited = new ArrayList<>();
+        PageCursor cursor = null;
+        do {
+            CursorPage<ReviewSummary> page = reviewService.getReviewsForMovie(movieId, 3, cursor);
+            visited.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(REVIEW_COUNT, visited.size());
+        assertEquals(REVIEW_COUNT, visited.stream().map(ReviewSummary::getId).distinct().count());
+        // reviewer0 and reviewer1 share the newest timestamp, so either may come first
+        assertTrue(Set.of("reviewer0", "reviewer1").contains(visited.get(0).getUsername()));
+        for (int i = 1; i < visited.size(); i++) {
+            assertFalse(visited.get(i).getTimestamp().isAfter(visited.get(i - 1).getTimestamp()));
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void getReviewsByUser_SingleStatementAndOnlyThatUsersReviews() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        User author = userRepository.save(new User(UUID.randomUUID(), "author", "author@example.com",
+                "hash", LocalDate.of(1990, 1, 1), false, now));
+        Movie reviewed = movieRepository.findById(movieId).orElseThrow();
+        Movie other = movieRepository.save(new Movie(UUID.randomUUID(), "Other Movie", List.of("Comedy"),
+                List.of("Director"), List.of("Writer"), List.of("Actor"), List.of("Producer"), 2021, AgeRating.BBFC_U, now));
+        reviewRepository.save(new Review(UUID.randomUUID(), reviewed, author, 5, "First review", now.minusDays(1)));
+        reviewRepository.save(new Review(UUID.randomUUID(), other, author, 7, "Second review", now));
+        entityManager.flush();
+
+        List<UserReviewSummary> firstPage = new ArrayList<>();
+        long queries = countQueries(() -> firstPage.addAll(reviewService.getReviewsByUser(author.getId(), 1, null).getItems()));
+        CursorPage<UserReviewSummary> secondPage = reviewService.getReviewsByUser(author.getId(), 1,
+                new PageCursor(firstPage.get(0).getTimestamp(), firstPage.get(0).getId()));
+
+        assertEquals(1, queries);
+        assertEquals("Other Movie", firstPage.get(0).getMovieName());
+        assertEquals(other.getId(), firstPage.get(0).getMovieId());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals("Reviewed Movie", secondPage.getItems().get(0).getMovieName());
+        assertFalse(secondPage.hasNext());
+    }
+
+    @Test
+    @Timeout(30)
+    void keysetListing_ReviewerNamesJoinedWithoutLoadingEntities() {
+        List<ReviewSummary> firstPage = new ArrayList<>();
+        List<ReviewSummary> rest = new ArrayList<>();
+        long queries = countQueries(() -> {
+            firstPage.addAll(reviewRepository.findSummariesByMovieId(movieId, Limit.of(2)));
+            ReviewSummary last = firstPage.get(firstPage.size() - 1);
+            rest.addAll(reviewRepository.findSummariesByMovieIdAfter(movieId, last.getTimestamp(), last.getId(),
+                    Limit.of(REVIEW_COUNT)));
+        });
+
+        assertEquals(2, queries);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(REVIEW_COUNT - 2, rest.size());
+        assertTrue(rest.stream().allMatch(review -> review.getUsername().startsWith("reviewer")));
+    }
+
+    private long countQueries(Runnable operation) {
+        entityManager.clear();
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -2,17 +2,30 @@ package com.madetech.soheb.moviereviewsbackend.service;
 
 import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
 import com.madetech.soheb.moviereviewsbackend.data.database.Review;
+import com.madetech.soheb.moviereviewsbackend.data.controller.CursorPage;
+import com.madetech.soheb.moviereviewsbackend.data.controller.PageCursor;
 import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSubmissionRequest;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSummary;
+import com.madetech.soheb.moviereviewsbackend.data.controller.UserReviewSummary;
 import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.data.events.ReviewSubmittedEvent;
 import com.madetech.soheb.moviereviewsbackend.data.exceptions.ReviewServiceException;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRatingStatsRepository;
 import com.madetech.soheb.moviereviewsbackend.repository.ReviewRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +34,9 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,11 +48,23 @@ class ReviewServiceTest {
     @Mock
     private MovieService movieService;
 
+    @Mock
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserRepository userRepository;
+
+
     private ReviewService reviewService;
 
     @BeforeEach
     void setUp() {
-        reviewService = new ReviewService(reviewRepository, movieService);
+        reviewService = new ReviewService(reviewRepository, movieService, movieRatingStatsRepository,
+                TransactionOperations.withoutTransaction(), eventPublisher,
+                TransactionOperations.withoutTransaction(), userRepository);
     }
 
     @Test
@@ -57,10 +85,9 @@ class ReviewServiceTest {
         request.setRating(8);
         request.setDescription("Great movie!");
 
-        when(movieService.movieExists(movieId)).thenReturn(true);
-        when(movieService.findMovieById(movieId)).thenReturn(Optional.of(movie));
-        when(reviewRepository.existsByUser_IdAndMovie_Id(userId, movieId)).thenReturn(false);
-        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(movieService.getMovieReference(movieId)).thenReturn(movie);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Optional<Review> result = reviewService.submitReview(movieId, request, user);
 
@@ -69,7 +96,36 @@ class ReviewServiceTest {
         assertEquals(user, result.get().getUser());
         assertEquals(8, result.get().getRating());
         assertEquals("Great movie!", result.get().getDescription());
-        verify(reviewRepository).save(any(Review.class));
+        verify(reviewRepository).saveAndFlush(any(Review.class));
+        verify(movieRatingStatsRepository).upsertStats(movieId, 8L, 1L, 8, 8, result.get().getTimestamp());
+        verify(movieRatingStatsRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ReviewSubmittedEvent(
+                result.get().getId(), movieId, userId, 8, result.get().getTimestamp()));
+    }
+
+    @Test
+    @Timeout(5)
+    void submitReview_OtherConstraintViolated_ThrowsInsteadOfReportingAlreadyReviewed() {
+        UUID movieId = UUID.randomUUID();
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+
+        Movie movie = new Movie();
+        movie.setId(movieId);
+
+        ReviewSubmissionRequest request = new ReviewSubmissionRequest();
+        request.setRating(4);
+        request.setDescription("Not for me");
+
+        when(movieService.getMovieReference(movieId)).thenReturn(movie);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(movieRatingStatsRepository.upsertStats(any(), anyLong(), anyLong(), anyInt(), anyInt(), any()))
+                .thenThrow(constraintViolation("movie_rating_stats_pkey"));
+
+        assertThrows(ReviewServiceException.class, () -> reviewService.submitReview(movieId, request, user));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -85,12 +141,13 @@ class ReviewServiceTest {
         request.setRating(8);
         request.setDescription("Great movie!");
 
-        when(movieService.movieExists(movieId)).thenReturn(false);
+        when(reviewRepository.saveAndFlush(any(Review.class)))
+                .thenThrow(constraintViolation("fk_reviews_movie_id"));
 
         Optional<Review> result = reviewService.submitReview(movieId, request, user);
 
         assertFalse(result.isPresent());
-        verify(reviewRepository, never()).save(any());
+        verify(movieRatingStatsRepository, never()).upsertStats(any(), anyLong(), anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -106,92 +163,105 @@ class ReviewServiceTest {
         request.setRating(8);
         request.setDescription("Great movie!");
 
-        when(movieService.movieExists(movieId)).thenReturn(true);
-        when(reviewRepository.existsByUser_IdAndMovie_Id(userId, movieId)).thenReturn(true);
+        when(reviewRepository.saveAndFlush(any(Review.class)))
+                .thenThrow(constraintViolation("uq_reviews_user_id_movie_id"));
 
         Optional<Review> result = reviewService.submitReview(movieId, request, user);
 
         assertFalse(result.isPresent());
-        verify(reviewRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(movieRatingStatsRepository, never()).upsertStats(any(), anyLong(), anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
     @Timeout(5)
-    void getReviewsForMovie_ExistingMovie_ReturnsReviews() {
+    void getReviewsForMovie_MoreRowsThanLimit_ReturnsCursorOfLastReview() {
         UUID movieId = UUID.randomUUID();
-        
-        Movie movie = new Movie();
-        movie.setId(movieId);
-        movie.setName("Test Movie");
+        LocalDateTime now = LocalDateTime.now();
+        ReviewSummary review1 = new ReviewSummary(UUID.randomUUID(), 8, "Great movie!", now, "alice");
+        ReviewSummary review2 = new ReviewSummary(UUID.randomUUID(), 6, "Ok movie", now.minusMinutes(1), "bob");
+        ReviewSummary review3 = new ReviewSummary(UUID.randomUUID(), 4, "Meh", now.minusMinutes(2), "carol");
 
-        Review review1 = new Review();
-        review1.setId(UUID.randomUUID());
-        review1.setMovie(movie);
-        review1.setRating(8);
-        review1.setTimestamp(LocalDateTime.now());
-        
-        Review review2 = new Review();
-        review2.setId(UUID.randomUUID());
-        review2.setMovie(movie);
-        review2.setRating(6);
-        review2.setTimestamp(LocalDateTime.now());
+        when(reviewRepository.findSummariesByMovieId(movieId, Limit.of(3)))
+                .thenReturn(List.of(review1, review2, review3));
 
-        List<Review> reviews = Arrays.asList(review1, review2);
+        CursorPage<ReviewSummary> result = reviewService.getReviewsForMovie(movieId, 2, null);
 
-        when(movieService.movieExists(movieId)).thenReturn(true);
-        when(reviewRepository.findByMovie_IdOrderByTimestampDesc(movieId)).thenReturn(reviews);
+        assertEquals(List.of(review1, review2), result.getItems());
+        assertTrue(result.hasNext());
+        assertEquals(new PageCursor(review2.getTimestamp(), review2.getId()), result.getNextCursor());
+    }
 
-        List<Review> result = reviewService.getReviewsForMovie(movieId);
+    @Test
+    @Timeout(5)
+    void getReviewsForMovie_WithCursor_SeeksPastCursorAndEndsOnLastPage() {
+        UUID movieId = UUID.randomUUID();
+        PageCursor after = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+        ReviewSummary review = new ReviewSummary(UUID.randomUUID(), 6, "Ok movie", after.getTimestamp().minusMinutes(1), "bob");
 
-        assertEquals(2, result.size());
-        assertEquals(8, result.get(0).getRating());
-        assertEquals(6, result.get(1).getRating());
-        verify(reviewRepository).findByMovie_IdOrderByTimestampDesc(movieId);
+        when(reviewRepository.findSummariesByMovieIdAfter(movieId, after.getTimestamp(), after.getId(), Limit.of(3)))
+                .thenReturn(List.of(review));
+
+        CursorPage<ReviewSummary> result = reviewService.getReviewsForMovie(movieId, 2, after);
+
+        assertEquals(List.of(review), result.getItems());
+        assertFalse(result.hasNext());
+        verify(reviewRepository, never()).findSummariesByMovieId(any(), any());
     }
 
     @Test
     @Timeout(5)
-    void getReviewsForMovie_NonExistingMovie_ReturnsEmptyList() {
+    void getReviewsForMovie_RepositoryThrowsException_ThrowsReviewServiceException() {
+        UUID movieId = UUID.randomUUID();
+        when(reviewRepository.findSummariesByMovieId(eq(movieId), any(Limit.class)))
+                .thenThrow(new RuntimeException("Database error"));
+
+        assertThrows(ReviewServiceException.class, () -> reviewService.getReviewsForMovie(movieId, 20, null));
+    }
+
+    @Test
+    @Timeout(5)
+    void getReviewsByUser_MoreRowsThanLimit_ReturnsCursorOfLastReview() {
+        UUID userId = UUID.randomUUID();
         UUID movieId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        UserReviewSummary review1 = new UserReviewSummary(UUID.randomUUID(), movieId, "Movie A", 9, "Loved it", now);
+        UserReviewSummary review2 = new UserReviewSummary(UUID.randomUUID(), movieId, "Movie B", 7, "Good", now.minusMinutes(1));
 
-        when(movieService.movieExists(movieId)).thenReturn(false);
+        when(reviewRepository.findSummariesByUserId(userId, Limit.of(2))).thenReturn(List.of(review1, review2));
 
-        List<Review> result = reviewService.getReviewsForMovie(movieId);
+        CursorPage<UserReviewSummary> result = reviewService.getReviewsByUser(userId, 1, null);
 
-        assertTrue(result.isEmpty());
-        verify(reviewRepository, never()).findByMovie_IdOrderByTimestampDesc(movieId);
+        assertEquals(List.of(review1), result.getItems());
+        assertEquals(new PageCursor(review1.getTimestamp(), review1.getId()), result.getNextCursor());
     }
 
     @Test
     @Timeout(5)
-    void getReviewsByUser_ReturnsUserReviews() {
+    void getReviewsByUser_WithCursor_SeeksPastCursorAndEndsOnLastPage() {
         UUID userId = UUID.randomUUID();
-        
-        User user = new User();
-        user.setId(userId);
-        user.setUsername("testuser");
+        PageCursor after = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+        UserReviewSummary review = new UserReviewSummary(UUID.randomUUID(), UUID.randomUUID(), "Movie A", 9,
+                "Loved it", after.getTimestamp().minusMinutes(1));
 
-        Review review1 = new Review();
-        review1.setId(UUID.randomUUID());
-        review1.setUser(user);
-        review1.setRating(9);
-        review1.setTimestamp(LocalDateTime.now());
-        
-        Review review2 = new Review();
-        review2.setId(UUID.randomUUID());
-        review2.setUser(user);
-        review2.setRating(7);
-        review2.setTimestamp(LocalDateTime.now());
+        when(reviewRepository.findSummariesByUserIdAfter(userId, after.getTimestamp(), after.getId(), Limit.of(3)))
+                .thenReturn(List.of(review));
+
+        CursorPage<UserReviewSummary> result = reviewService.getReviewsByUser(userId, 2, after);
 
-        List<Review> reviews = Arrays.asList(review1, review2);
-        when(reviewRepository.findByUser_IdOrderByTimestampDesc(userId)).thenReturn(reviews);
+        assertEquals(List.of(review), result.getItems());
+        assertFalse(result.hasNext());
+        verify(reviewRepository, never()).findSummariesByUserId(any(), any());
+    }
 
-        List<Review> result = reviewService.getReviewsByUser(userId);
+    @Test
+    @Timeout(5)
+    void getReviewsByUser_RepositoryThrowsException_ThrowsReviewServiceException() {
+        UUID userId = UUID.randomUUID();
+        when(reviewRepository.findSummariesByUserId(eq(userId), any(Limit.class)))
+                .thenThrow(new RuntimeException("Database error"));
 
-        assertEquals(2, result.size());
-        assertEquals(9, result.get(0).getRating());
-        assertEquals(7, result.get(1).getRating());
-        verify(reviewRepository).findByUser_IdOrderByTimestampDesc(userId);
+        assertThrows(ReviewServiceException.class, () -> reviewService.getReviewsByUser(userId, 20, null));
     }
 
     @Test
@@ -211,10 +281,7 @@ class ReviewServiceTest {
         request.setRating(8);
         request.setDescription("Great movie!");
 
-        when(movieService.movieExists(movieId)).thenReturn(true);
-        when(movieService.findMovieById(movieId)).thenReturn(Optional.of(movie));
-        when(reviewRepository.existsByUser_IdAndMovie_Id(userId, movieId)).thenReturn(false);
-        when(reviewRepository.save(any(Review.class))).thenThrow(new RuntimeException("Database error"));
+        when(reviewRepository.saveAndFlush(any(Review.class))).thenThrow(new RuntimeException("Database error"));
 
         ReviewServiceException exception = 
             assertThrows(ReviewServiceException.class, 
@@ -222,4 +289,10 @@ class ReviewServiceTest {
         
         assertEquals("ERR_REVIEW_SUBMISSION_FAILED", exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        // The driver's wording mentions the constraint either way; only the name Hibernate extracted is trusted
+        return new DataIntegrityViolationException("could not execute statement: uq_reviews_user_id_movie_id",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
+}
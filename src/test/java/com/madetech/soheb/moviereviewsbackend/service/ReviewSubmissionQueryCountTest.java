@@ -0,0 +1,126 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import com.madetech.soheb.moviereviewsbackend.config.TransactionConfig;
+import com.madetech.soheb.moviereviewsbackend.data.AgeRating;
+import com.madetech.soheb.moviereviewsbackend.data.controller.ReviewSubmissionRequest;
+import com.madetech.soheb.moviereviewsbackend.data.database.Movie;
+import com.madetech.soheb.moviereviewsbackend.data.database.MovieRatingStats;
+import com.madetech.soheb.moviereviewsbackend.data.database.Review;
+import com.madetech.soheb.moviereviewsbackend.data.database.User;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRatingStatsRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.MovieRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.ReviewRepository;
+import com.madetech.soheb.moviereviewsbackend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not wrapped in a test transaction, so each submission commits or rolls back exactly as it would in production
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReviewService.class, MovieService.class, TransactionConfig.class})
+@ActiveProfiles("test")
+class ReviewSubmissionQueryCountTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Movie movie;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        movie = movieRepository.save(new Movie(UUID.randomUUID(), "Movie " + suffix, List.of("Drama"),
+                List.of("Director"), List.of("Writer"), List.of("Actor"), List.of("Producer"),
+                2020, AgeRating.BBFC_12A, now));
+        movieRatingStatsRepository.save(MovieRatingStats.empty(movie.getId()));
+        user = userRepository.save(new User(UUID.randomUUID(), "user" + suffix, "user" + suffix + "@example.com",
+                "hash", LocalDate.of(1990, 1, 1), false, now));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @Timeout(30)
+    void submitReview_InsertsReviewAndUpdatesAggregateOnly() {
+        Optional<Review> result = reviewService.submitReview(movie.getId(), request(8), user);
+
+        assertTrue(result.isPresent());
+        // One INSERT for the review and one upsert for the rating aggregate; no existence checks or loads
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        MovieRatingStats stats = movieRatingStatsRepository.findById(movie.getId()).orElseThrow();
+        assertEquals(1, stats.getRatingCount());
+        assertEquals(8, stats.getRatingSum());
+    }
+
+    @Test
+    @Timeout(30)
+    void submitReview_SecondReviewBySameUser_ReturnsEmptyAndLeavesAggregateUnchanged() {
+        assertTrue(reviewService.submitReview(movie.getId(), request(8), user).isPresent());
+
+        Optional<Review> duplicate = reviewService.submitReview(movie.getId(), request(2), user);
+
+        assertTrue(duplicate.isEmpty());
+        assertEquals(1, reviewRepository.findSummariesByMovieId(movie.getId(), Limit.of(10)).size());
+        MovieRatingStats stats = movieRatingStatsRepository.findById(movie.getId()).orElseThrow();
+        assertEquals(1, stats.getRatingCount());
+        assertEquals(8, stats.getRatingSum());
+    }
+
+    @Test
+    @Timeout(30)
+    void submitReview_UnknownMovie_ReturnsEmpty() {
+        Optional<Review> result = reviewService.submitReview(UUID.randomUUID(), request(8), user);
+
+        assertTrue(result.isEmpty());
+    }
+
+    private ReviewSubmissionRequest request(int rating) {
+        ReviewSubmissionRequest request = new ReviewSubmissionRequest();
+        request.setRating(rating);
+        request.setDescription("Review with rating " + rating);
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package com.madetech.soheb.moviereviewsbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingServiceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-06-01T12:00:00Z"));
+    private final TrendingService trendingService = new TrendingService(clock);
+
+    @Test
+    @Timeout(5)
+    void top_RanksByReviewVelocityWithinWindow() {
+        UUID steady = UUID.randomUUID();
+        UUID burst = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+
+        record(steady, 3);
+        clock.advance(Duration.ofMinutes(30));
+        record(steady, 4);
+        record(burst, 5);
+        record(quiet, 1);
+
+        assertEquals(List.of(steady, burst, quiet), trendingService.top(TrendingService.Window.HOUR, 10));
+        assertEquals(List.of(steady, burst), trendingService.top(TrendingService.Window.HOUR, 2));
+    }
+
+    @Test
+    @Timeout(5)
+    void top_RecentActivityOutweighsOlderActivityOfSameVolume() {
+        UUID earlier = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+
+        record(earlier, 4);
+        clock.advance(Duration.ofMinutes(45));
+        record(later, 4);
+
+        assertEquals(List.of(later, earlier), trendingService.top(TrendingService.Window.HOUR, 10));
+    }
+
+    @Test
+    @Timeout(5)
+    void top_ActivityLeavesShorterWindowsFirst() {
+        UUID movie = UUID.randomUUID();
+        record(movie, 2);
+
+        clock.advance(Duration.ofHours(2));
+        assertEquals(List.of(), trendingService.top(TrendingService.Window.HOUR, 10));
+        assertEquals(List.of(movie), trendingService.top(TrendingService.Window.DAY, 10));
+
+        clock.advance(Duration.ofDays(2));
+        assertEquals(List.of(), trendingService.top(TrendingService.Window.DAY, 10));
+        assertEquals(List.of(movie), trendingService.top(TrendingService.Window.WEEK, 10));
+
+        clock.advance(Duration.ofDays(7));
+        trendingService.evictIdle();
+        assertEquals(List.of(), trendingService.top(TrendingService.Window.WEEK, 10));
+    }
+
+    @Test
+    @Timeout(10)
+    void record_ConcurrentIncrementsAreNotLost() throws Exception {
+        DecayingRingCounter counter = new DecayingRingCounter(60_000, 60);
+        long now = clock.millis();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            executor.execute(() -> counter.increment(now));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(8_000, counter.decayedSum(now, 1.0), 1e-9);
+    }
+
+    @Test
+    @Timeout(5)
+    void window_ParsesCaseInsensitivelyAndRejectsUnknown() {
+        assertEquals(TrendingService.Window.WEEK, TrendingService.Window.parse("week"));
+        assertThrows(IllegalArgumentException.class, () -> TrendingService.Window.parse("month"));
+    }
+
+    private void record(UUID movieId, int reviews) {
+        for (int i = 0; i < reviews; i++) {
+            trendingService.record(movieId);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
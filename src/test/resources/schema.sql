@@ -0,0 +1,16 @@
+-- Tables the application reads only through JdbcTemplate, so Hibernate's create-drop does not create them.
+-- Mirrors the Liquibase changelog, minus foreign keys so tests can count ratings for movies they never saved.
+CREATE TABLE IF NOT EXISTS movie_rating_histograms (
+    movie_id UUID PRIMARY KEY,
+    rating_0 BIGINT DEFAULT 0 NOT NULL,
+    rating_1 BIGINT DEFAULT 0 NOT NULL,
+    rating_2 BIGINT DEFAULT 0 NOT NULL,
+    rating_3 BIGINT DEFAULT 0 NOT NULL,
+    rating_4 BIGINT DEFAULT 0 NOT NULL,
+    rating_5 BIGINT DEFAULT 0 NOT NULL,
+    rating_6 BIGINT DEFAULT 0 NOT NULL,
+    rating_7 BIGINT DEFAULT 0 NOT NULL,
+    rating_8 BIGINT DEFAULT 0 NOT NULL,
+    rating_9 BIGINT DEFAULT 0 NOT NULL,
+    rating_10 BIGINT DEFAULT 0 NOT NULL
+);